@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request for the plain jar and for the AOT + CDS build.
+#
+#   scripts/startup-benchmark.sh [runs]
+#
+# Needs a reachable database (see application.properties). Results are appended to
+# target/startup-benchmark.csv as: timestamp,mode,run,ready_ms,first_request_ms,first_status
+# A run that is not ready or answered within TIMEOUT_S seconds (default 120) stops the script.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+TIMEOUT_S="${TIMEOUT_S:-120}"
+BASE="http://localhost:${PORT}"
+OUT="target/startup-benchmark.csv"
+
+now_ms() { date +%s%3N; }
+
+# Polls the URL and prints the HTTP status once it answers: any status with "any", otherwise
+# only 2xx. Fails when the application exits or TIMEOUT_S passes first.
+wait_for() {
+  local url="$1" accept="$2" pid="$3"
+  local deadline=$(( $(now_ms) + TIMEOUT_S * 1000 ))
+  local status
+  while true; do
+    status=$(curl -s -o /dev/null -w '%{http_code}' "$url" || true)
+    if [[ "$status" == 2* || ( "$accept" == any && "$status" != 000 ) ]]; then
+      echo "$status"
+      return 0
+    fi
+    kill -0 "$pid" 2>/dev/null || return 1
+    (( $(now_ms) < deadline )) || return 1
+    sleep 0.05
+  done
+}
+
+fail_run() {
+  local mode="$1" run="$2" pid="$3" what="$4"
+  echo "${mode} run ${run}: ${what} within ${TIMEOUT_S}s or the application exited, see target/startup-${mode}.log" >&2
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  exit 1
+}
+
+measure() {
+  local mode="$1"; shift
+  for run in $(seq 1 "$RUNS"); do
+    local start; start=$(now_ms)
+    "$@" --server.port="$PORT" > "target/startup-${mode}.log" 2>&1 &
+    local pid=$!
+    wait_for "${BASE}/actuator/health/readiness" ok "$pid" > /dev/null \
+      || fail_run "$mode" "$run" "$pid" "not ready"
+    local ready; ready=$(( $(now_ms) - start ))
+    # An empty database answers 404 here, which still counts as a served first request
+    local status; status=$(wait_for "${BASE}/api/employees/payroll" any "$pid") \
+      || fail_run "$mode" "$run" "$pid" "no answer from /api/employees/payroll"
+    local first; first=$(( $(now_ms) - start ))
+    if [[ "$status" == 5* ]]; then
+      echo "${mode} run ${run}: /api/employees/payroll answered ${status}" >&2
+    fi
+    echo "$(date -Iseconds),${mode},${run},${ready},${first},${status}" | tee -a "$OUT"
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+  done
+}
+
+sh ./mvnw -q -B -DskipTests package
+JAR=$(ls target/EmployeePayrollManagement-*.jar | grep -v plain | head -1)
+measure plain java -jar "$JAR" --spring.profiles.active=prod
+
+# AOT-processed build plus an AppCDS archive recorded from a training run
+sh ./mvnw -q -B -DskipTests -Pfast-startup package
+rm -rf target/fast-startup
+java -Djarmode=tools -jar "$JAR" extract --destination target/fast-startup
+APP_JAR="target/fast-startup/$(basename "$JAR")"
+java -XX:ArchiveClassesAtExit=target/fast-startup/app.jsa -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh -jar "$APP_JAR" --spring.profiles.active=prod > target/startup-cds-training.log 2>&1
+measure aot-cds java -XX:SharedArchiveFile=target/fast-startup/app.jsa -Dspring.aot.enabled=true \
+     -jar "$APP_JAR" --spring.profiles.active=prod
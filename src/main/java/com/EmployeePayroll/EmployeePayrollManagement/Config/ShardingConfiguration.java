@@ -0,0 +1,108 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Config;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceKeys;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardIdentity;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRebalancer;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wires the shard router. Without payroll.sharding.enabled the application keeps using the
+ * single spring.datasource and the router runs everything on the calling thread.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfiguration.class);
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "payroll.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public ShardRouter singleShardRouter() {
+        return ShardRouter.singleShard();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "payroll.sharding.enabled", havingValue = "true")
+    static class Sharded {
+
+        private final ShardingProperties properties;
+
+        Sharded(ShardingProperties properties) {
+            this.properties = properties;
+        }
+
+        /** One pool per shard, migrated, with aligned reference keys and interleaved ids before JPA starts. */
+        @Bean
+        public ShardDataSources shardDataSources() {
+            List<ShardingProperties.Shard> configured = properties.getShards();
+            int activeShards = properties.resolvedActiveShards();
+            if (configured.isEmpty() || activeShards < 1 || activeShards > configured.size()) {
+                throw new IllegalStateException("payroll.sharding.active-shards must be between 1 and the number of payroll.sharding.shards");
+            }
+
+            List<DataSource> shards = new ArrayList<>();
+            for (int i = 0; i < configured.size(); i++) {
+                ShardingProperties.Shard shard = configured.get(i);
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("shard-" + i);
+                dataSource.setJdbcUrl(shard.getUrl());
+                dataSource.setUsername(shard.getUsername());
+                dataSource.setPassword(shard.getPassword());
+                dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+                shards.add(dataSource);
+
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .locations("classpath:db/migration")
+                        .baselineOnMigrate(true)
+                        .baselineVersion("0")
+                        .load()
+                        .migrate();
+            }
+            ReferenceKeys.reconcile(shards);
+            ShardIdentity.interleave(shards, activeShards);
+            logger.info("Sharding enabled: {} active of {} configured shards", activeShards, shards.size());
+            return new ShardDataSources(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardDataSources shardDataSources) {
+            return new ShardRoutingDataSource(shardDataSources.shards());
+        }
+
+        @Bean(destroyMethod = "shutdown")
+        public ShardRouter shardRouter() {
+            int activeShards = properties.resolvedActiveShards();
+            int threads = properties.getScatterThreads() != null ? properties.getScatterThreads() : properties.getShards().size();
+            return ShardRouter.withScatterThreads(activeShards, threads);
+        }
+
+        @Bean(destroyMethod = "shutdown")
+        public ShardRebalancer shardRebalancer(ShardDataSources shardDataSources, ShardRouter shardRouter) {
+            return new ShardRebalancer(shardDataSources.shards(), shardRouter, properties.getRebalanceChunkSize());
+        }
+    }
+
+    /** The raw per-shard pools, for the components that must bypass routing. */
+    public record ShardDataSources(List<DataSource> shards) implements AutoCloseable {
+        @Override
+        public void close() {
+            shards.forEach(shard -> ((HikariDataSource) shard).close());
+        }
+    }
+}
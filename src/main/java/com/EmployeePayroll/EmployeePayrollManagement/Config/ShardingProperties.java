@@ -0,0 +1,41 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * payroll.sharding.* settings. The shard list may be longer than active-shards: the extra
+ * datasources are migrated and kept ready so a rebalance can grow the layout onto them.
+ */
+@Data
+@ConfigurationProperties(prefix = "payroll.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /** Number of shards in the current layout; defaults to every configured shard. */
+    private Integer activeShards;
+
+    /** Threads used to query the shards in parallel; defaults to one per shard. */
+    private Integer scatterThreads;
+
+    /** Rows moved per transaction by the rebalancer. */
+    private int rebalanceChunkSize = 500;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    public int resolvedActiveShards() {
+        return activeShards != null ? activeShards : shards.size();
+    }
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
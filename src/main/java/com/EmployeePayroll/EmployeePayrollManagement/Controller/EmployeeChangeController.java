@@ -0,0 +1,33 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Controller;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeChangeService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeChangeService.ChangeRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeChangeController {
+
+    private final EmployeeChangeService employeeChangeService;
+
+    @Autowired
+    public EmployeeChangeController(EmployeeChangeService employeeChangeService) {
+        this.employeeChangeService = employeeChangeService;
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<StreamingResponseBody> getChanges(@RequestParam(required = false) String since,
+                                                            @RequestParam(required = false) Integer limit) {
+        log.info("Received request: GET /api/employees/changes?since={}&limit={}", since, limit);
+        ChangeRequest request = employeeChangeService.plan(since, limit);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> employeeChangeService.writeJson(request, out));
+    }
+}
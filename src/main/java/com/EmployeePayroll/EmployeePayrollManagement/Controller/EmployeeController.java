@@ -2,7 +2,9 @@ package com.EmployeePayroll.EmployeePayrollManagement.Controller;
 
 import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
 import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
 import com.EmployeePayroll.EmployeePayrollManagement.Mapper.EmployeeMapper;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.AggregateRequestCoalescer;
 import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,10 +21,12 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/employees")
 public class EmployeeController {
     private final EmployeeService employeeService;
+    private final AggregateRequestCoalescer aggregateCoalescer;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, AggregateRequestCoalescer aggregateCoalescer) {
         this.employeeService = employeeService;
+        this.aggregateCoalescer = aggregateCoalescer;
     }
 
     @PostMapping
@@ -84,17 +88,18 @@ public class EmployeeController {
     }
 
     @GetMapping("/payroll")
-    public double calculateTotalPayroll() {
+    public Money calculateTotalPayroll() {
         log.info("Received request: GET /api/employees/payroll");
-        double payroll = employeeService.calculateTotalPayroll();
+        Money payroll = aggregateCoalescer.execute("payroll", employeeService::calculateTotalPayroll);
         log.info("Total payroll calculated: {}", payroll);
         return payroll;
     }
 
     @GetMapping("/department/{departmentName}/average-salary")
-    public double calculateAverageSalaryByDepartment(@PathVariable String departmentName) {
+    public Money calculateAverageSalaryByDepartment(@PathVariable String departmentName) {
         log.info("Received request: GET /api/employees/department/{}/average-salary", departmentName);
-        double avgSalary = employeeService.calculateAverageSalaryByDepartment(departmentName);
+        Money avgSalary = aggregateCoalescer.execute("average-salary:" + departmentName,
+                () -> employeeService.calculateAverageSalaryByDepartment(departmentName));
         log.info("Average salary for department {}: {}", departmentName, avgSalary);
         return avgSalary;
     }
@@ -102,13 +107,14 @@ public class EmployeeController {
     @GetMapping("/grouped-by-department")
     public Map<String, List<String>> getEmployeesGroupedByDepartment() {
         log.info("Received request: GET /api/employees/grouped-by-department");
-        return employeeService.getEmployeesGroupedByDepartment();
+        return aggregateCoalescer.execute("grouped-by-department", employeeService::getEmployeesGroupedByDepartment);
     }
 
     @GetMapping("/top-salaries/{n}")
     public ResponseEntity<List<EmployeeDTO>> getTopNHighestPaidEmployees(@PathVariable int n) {
         log.info("Received request: GET /api/employees/top-salaries/{}", n);
-        List<EmployeeDTO> employeeDTOs = employeeService.getTopNHighestPaidEmployees(n)
+        List<EmployeeDTO> employeeDTOs = aggregateCoalescer.execute("top-salaries:" + n,
+                        () -> employeeService.getTopNHighestPaidEmployees(n))
                 .stream()
                 .map(EmployeeMapper::toDTO)
                 .collect(Collectors.toList());
@@ -120,13 +126,15 @@ public class EmployeeController {
     @GetMapping("/payroll/job-title/{jobTitle}")
     public Map<String, Object> calculatePayrollByDesignation(@PathVariable String jobTitle) {
         log.info("Received request: GET /api/employees/payroll/job-title/{}", jobTitle);
-        return employeeService.calculatePayrollByJobTitle(jobTitle);
+        return aggregateCoalescer.execute("payroll-by-job-title:" + jobTitle,
+                () -> employeeService.calculatePayrollByJobTitle(jobTitle));
     }
 
     @GetMapping("/hired-in-last/{months}")
     public List<Employee> findEmployeesHiredInLastNMonths(@PathVariable int months) {
         log.info("Received request: GET /api/employees/hired-in-last/{}", months);
-        return employeeService.findEmployeesHiredInLastNMonths(months);
+        return aggregateCoalescer.execute("hired-in-last:" + months,
+                () -> employeeService.findEmployeesHiredInLastNMonths(months));
     }
 
     @GetMapping("/filter-by-department/{department}")
@@ -0,0 +1,33 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Controller;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeQuery;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeQueryPlan;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeQueryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeQueryController {
+
+    private final EmployeeQueryService employeeQueryService;
+
+    @Autowired
+    public EmployeeQueryController(EmployeeQueryService employeeQueryService) {
+        this.employeeQueryService = employeeQueryService;
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<StreamingResponseBody> queryEmployees(@ModelAttribute EmployeeQuery query) {
+        log.info("Received request: GET /api/employees/query with {}", query);
+        EmployeeQueryPlan plan = employeeQueryService.plan(query);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> employeeQueryService.writeJson(plan, out));
+    }
+}
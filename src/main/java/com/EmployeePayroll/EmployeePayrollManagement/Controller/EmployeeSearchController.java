@@ -0,0 +1,37 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Controller;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeSearchHit;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeNameIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeSearchController {
+    private static final int MAX_LIMIT = 100;
+
+    private final EmployeeNameIndex employeeNameIndex;
+
+    @Autowired
+    public EmployeeSearchController(EmployeeNameIndex employeeNameIndex) {
+        this.employeeNameIndex = employeeNameIndex;
+    }
+
+    @GetMapping("/search")
+    public List<EmployeeSearchHit> searchEmployees(@RequestParam("q") String query,
+                                                   @RequestParam(value = "department", required = false) String department,
+                                                   @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                                   @RequestParam(value = "fuzzy", defaultValue = "true") boolean fuzzy) {
+        log.info("Received request: GET /api/employees/search?q={}&department={}&limit={}&fuzzy={}", query, department, limit, fuzzy);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<EmployeeSearchHit> hits = employeeNameIndex.search(query, department, limit, fuzzy);
+        log.info("Returning {} search hits for '{}'", hits.size(), query);
+        return hits;
+    }
+}
@@ -0,0 +1,104 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Controller;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeQuery;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.ReportJob;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.ReportNotReadyException;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.ReportService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.ReportType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Asynchronous reports. Rows of a completed report are fetched in pages, either with
+ * {@code offset}/{@code limit} or with a {@code Range: rows=<first>-<last>} header, which is
+ * answered with 206 and a {@code Content-Range: rows <first>-<last>/<total>} header. Rows of
+ * a report that has not completed are refused with a 409.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+    private static final int MAX_PAGE_ROWS = 10_000;
+    private static final Pattern ROW_RANGE = Pattern.compile("rows=(\\d+)-(\\d*)");
+
+    private final ReportService reportService;
+
+    @Autowired
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @PostMapping("/{type}")
+    public ResponseEntity<ReportJob> submitReport(@PathVariable String type, @ModelAttribute EmployeeQuery query,
+                                                  @RequestParam(value = "jobTitle", required = false) String jobTitle) {
+        log.info("Received request: POST /api/reports/{} with {} jobTitle={}", type, query, jobTitle);
+        ReportJob job = reportService.submit(ReportType.fromPath(type), query, jobTitle);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ReportJob getReport(@PathVariable String id) {
+        return reportService.getJob(id);
+    }
+
+    @GetMapping("/{id}/rows")
+    public ResponseEntity<StreamingResponseBody> getReportRows(@PathVariable String id,
+                                                               @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                               @RequestParam(value = "offset", defaultValue = "0") long offset,
+                                                               @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        log.info("Received request: GET /api/reports/{}/rows range={} offset={} limit={}", id, range, offset, limit);
+        ReportJob job = reportService.getJob(id);
+        if (job.getStatus() != ReportJob.Status.COMPLETED) {
+            throw new ReportNotReadyException("Report " + id + " is " + job.getStatus() + ", rows are available once it has COMPLETED");
+        }
+        long total = job.getRows();
+
+        if (range == null) {
+            if (offset < 0 || limit < 1 || limit > MAX_PAGE_ROWS) {
+                throw new IllegalArgumentException("offset must be >= 0 and limit between 1 and " + MAX_PAGE_ROWS);
+            }
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.ACCEPT_RANGES, "rows")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(page(id, offset, limit));
+        }
+
+        Matcher matcher = ROW_RANGE.matcher(range.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Range must be rows=<first>-[<last>] but was '" + range + "'");
+        }
+        long first = Long.parseLong(matcher.group(1));
+        long last = matcher.group(2).isEmpty() ? total - 1 : Long.parseLong(matcher.group(2));
+        if (first >= total || last < first) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "rows */" + total)
+                    .build();
+        }
+        last = Math.min(Math.min(last, total - 1), first + MAX_PAGE_ROWS - 1);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .header(HttpHeaders.ACCEPT_RANGES, "rows")
+                .header(HttpHeaders.CONTENT_RANGE, "rows " + first + "-" + last + "/" + total)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page(id, first, last - first + 1));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelReport(@PathVariable String id) {
+        log.info("Received request: DELETE /api/reports/{}", id);
+        reportService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private StreamingResponseBody page(String id, long from, long count) {
+        return out -> reportService.writePage(id, from, count, out);
+    }
+}
@@ -0,0 +1,35 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Controller;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryPercentilesDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.SalaryDistributionIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/employees")
+public class SalaryDistributionController {
+
+    private final SalaryDistributionIndex salaryDistributionIndex;
+
+    @Autowired
+    public SalaryDistributionController(SalaryDistributionIndex salaryDistributionIndex) {
+        this.salaryDistributionIndex = salaryDistributionIndex;
+    }
+
+    @GetMapping("/salary-percentiles")
+    public SalaryPercentilesDTO getSalaryPercentiles(@RequestParam(value = "department", required = false) String department,
+                                                     @RequestParam(value = "designation", required = false) String designation,
+                                                     @RequestParam(value = "quantiles", defaultValue = "0.5,0.9,0.99") List<Double> quantiles) {
+        log.info("Received request: GET /api/employees/salary-percentiles?department={}&designation={}&quantiles={}",
+                department, designation, quantiles);
+        if (quantiles.isEmpty() || quantiles.size() > 20) {
+            throw new IllegalArgumentException("Between 1 and 20 quantiles must be requested");
+        }
+        return salaryDistributionIndex.percentiles(department, designation,
+                quantiles.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+}
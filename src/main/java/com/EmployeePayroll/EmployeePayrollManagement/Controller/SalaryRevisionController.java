@@ -0,0 +1,54 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Controller;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryChange;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryRevisionJob;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryRevisionRequest;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.SalaryRevisionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/salary-revisions")
+public class SalaryRevisionController {
+
+    private final SalaryRevisionService salaryRevisionService;
+
+    @Autowired
+    public SalaryRevisionController(SalaryRevisionService salaryRevisionService) {
+        this.salaryRevisionService = salaryRevisionService;
+    }
+
+    @PostMapping(consumes = "application/json")
+    public ResponseEntity<SalaryRevisionJob> submitRevision(@RequestBody SalaryRevisionRequest request) {
+        log.info("Received request: POST /api/salary-revisions with data: {}", request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(salaryRevisionService.submit(request));
+    }
+
+    @PostMapping(value = "/csv", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<SalaryRevisionJob> submitCsvRevision(@RequestBody String csv,
+                                                               @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
+        log.info("Received request: POST /api/salary-revisions/csv?dryRun={} ({} bytes)", dryRun, csv.length());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(salaryRevisionService.submitCsv(csv, dryRun));
+    }
+
+    @GetMapping("/{id}")
+    public SalaryRevisionJob getRevision(@PathVariable String id) {
+        return salaryRevisionService.getJob(id);
+    }
+
+    @GetMapping("/{id}/audit")
+    public List<SalaryChange> getRevisionAudit(@PathVariable String id,
+                                               @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        log.info("Received request: GET /api/salary-revisions/{}/audit?limit={}", id, limit);
+        if (limit < 1 || limit > 10_000) {
+            throw new IllegalArgumentException("limit must be between 1 and 10000");
+        }
+        return salaryRevisionService.getAudit(id, limit);
+    }
+}
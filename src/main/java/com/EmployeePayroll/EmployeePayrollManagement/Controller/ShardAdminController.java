@@ -0,0 +1,37 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Controller;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRebalancer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/shards")
+@ConditionalOnProperty(name = "payroll.sharding.enabled", havingValue = "true")
+public class ShardAdminController {
+
+    private final ShardRebalancer shardRebalancer;
+
+    @Autowired
+    public ShardAdminController(ShardRebalancer shardRebalancer) {
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @PostMapping("/rebalance")
+    public ResponseEntity<Map<String, Object>> rebalance(@RequestParam("targetShards") int targetShards) {
+        log.info("Received request: POST /api/admin/shards/rebalance?targetShards={}", targetShards);
+        shardRebalancer.start(targetShards);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(shardRebalancer.status());
+    }
+
+    @GetMapping("/rebalance")
+    public Map<String, Object> rebalanceStatus() {
+        return shardRebalancer.status();
+    }
+}
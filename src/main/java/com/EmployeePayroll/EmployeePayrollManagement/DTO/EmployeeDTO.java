@@ -1,5 +1,6 @@
 package com.EmployeePayroll.EmployeePayrollManagement.DTO;
 
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -13,7 +14,7 @@ import java.util.Date;
 public class EmployeeDTO {
     private Long empId;
     private String name;
-    private double salary;
+    private Money salary;
     private String department;
     private String designation;
     private String employmentType;
@@ -0,0 +1,34 @@
+package com.EmployeePayroll.EmployeePayrollManagement.DTO;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Parameters of {@code GET /api/employees/query}. Every filter is optional and they are
+ * combined with AND; salary and hire-date bounds are inclusive. {@code sort} is a field name
+ * optionally followed by {@code ,asc} or {@code ,desc}, and {@code fields} limits the
+ * properties returned per employee (all of them when empty).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeQuery {
+    private String department;
+    private String designation;
+    private String employmentType;
+    private Money minSalary;
+    private Money maxSalary;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredTo;
+    private String sort;
+    private Integer limit;
+    private List<String> fields;
+}
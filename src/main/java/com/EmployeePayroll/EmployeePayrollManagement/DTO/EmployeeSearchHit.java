@@ -0,0 +1,15 @@
+package com.EmployeePayroll.EmployeePayrollManagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSearchHit {
+    private Long empId;
+    private String name;
+    private String department;
+    private double score;
+}
@@ -0,0 +1,31 @@
+package com.EmployeePayroll.EmployeePayrollManagement.DTO;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * State of an asynchronous report. Written by the report worker and read by status
+ * requests, hence the volatile fields. Rows are fetched separately once COMPLETED.
+ */
+@Data
+public class ReportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final String type;
+    private final String parameters;
+    private final LocalDateTime submittedAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile long rows;
+    /** Report-specific totals, e.g. the total payroll of a job title. */
+    private final Map<String, Object> summary = new ConcurrentHashMap<>();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    /** When the result and this job are removed. */
+    private volatile LocalDateTime expiresAt;
+    private volatile String error;
+}
@@ -0,0 +1,15 @@
+package com.EmployeePayroll.EmployeePayrollManagement.DTO;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryChange {
+    private Long empId;
+    private Money oldSalary;
+    private Money newSalary;
+}
@@ -0,0 +1,20 @@
+package com.EmployeePayroll.EmployeePayrollManagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryPercentilesDTO {
+    private String department;
+    private String designation;
+    private long count;
+    private double relativeError;
+    private double min;
+    private double max;
+    private Map<String, Double> percentiles;
+}
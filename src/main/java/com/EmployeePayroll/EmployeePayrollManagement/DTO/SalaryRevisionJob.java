@@ -0,0 +1,35 @@
+package com.EmployeePayroll.EmployeePayrollManagement.DTO;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Progress of a bulk salary revision. Written by the revision worker and read by status
+ * requests, hence the volatile fields. A dry run fills the same counters without writing,
+ * except {@code updated}, which stays 0; the sample shows what would change.
+ */
+@Data
+public class SalaryRevisionJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String description;
+    private final boolean dryRun;
+    private volatile Status status = Status.QUEUED;
+    private volatile long matched;
+    private volatile long updated;
+    private volatile long notFound;
+    private volatile int chunks;
+    private volatile Money totalBefore = Money.ZERO;
+    private volatile Money totalAfter = Money.ZERO;
+    /** The first changes, as a preview. */
+    private final List<SalaryChange> sample = new CopyOnWriteArrayList<>();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+}
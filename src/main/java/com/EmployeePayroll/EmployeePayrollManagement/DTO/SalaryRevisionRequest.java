@@ -0,0 +1,20 @@
+package com.EmployeePayroll.EmployeePayrollManagement.DTO;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/** "Raise every SeniorEngineer in IT by 6%": filters are optional, exactly one of percent/amount is set. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryRevisionRequest {
+    private String department;
+    private String designation;
+    private BigDecimal percent;
+    private Money amount;
+    private boolean dryRun;
+}
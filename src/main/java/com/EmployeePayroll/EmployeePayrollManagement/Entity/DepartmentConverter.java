@@ -0,0 +1,13 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Entity;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import jakarta.persistence.Converter;
+
+/** Stores an employee's department as a key of {@code departments}. */
+@Converter
+public class DepartmentConverter extends ReferenceConverter {
+
+    public DepartmentConverter(ReferenceDictionaries dictionaries) {
+        super(dictionaries.departments());
+    }
+}
@@ -0,0 +1,13 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Entity;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import jakarta.persistence.Converter;
+
+/** Stores an employee's designation as a key of {@code designations}. */
+@Converter
+public class DesignationConverter extends ReferenceConverter {
+
+    public DesignationConverter(ReferenceDictionaries dictionaries) {
+        super(dictionaries.designations());
+    }
+}
@@ -18,10 +18,17 @@ public class Employee {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long empId;
     private String name;
-    private double salary;
-    @Column(name="departmentTitle")
+    @Column(name = "salary_minor", nullable = false)
+    private Money salary;
+    // Stored as keys of the reference tables; the converters hand out shared name instances
+    @Column(name = "department_id")
+    @Convert(converter = DepartmentConverter.class)
     private String department;
+    @Column(name = "designation_id")
+    @Convert(converter = DesignationConverter.class)
     private String designation;
+    @Column(name = "employment_type_id")
+    @Convert(converter = EmploymentTypeConverter.class)
     private String employmentType;
     private LocalDate hireDate;
 }
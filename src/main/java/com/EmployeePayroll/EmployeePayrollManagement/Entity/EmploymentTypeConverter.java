@@ -0,0 +1,13 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Entity;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import jakarta.persistence.Converter;
+
+/** Stores an employee's employment type as a key of {@code employment_types}. */
+@Converter
+public class EmploymentTypeConverter extends ReferenceConverter {
+
+    public EmploymentTypeConverter(ReferenceDictionaries dictionaries) {
+        super(dictionaries.employmentTypes());
+    }
+}
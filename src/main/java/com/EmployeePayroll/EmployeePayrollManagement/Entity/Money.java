@@ -0,0 +1,78 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money as a whole number of minor units (cents), so sums are exact and the
+ * aggregation loops work on primitive {@code long}s. All arithmetic is overflow-checked and
+ * throws {@link ArithmeticException} instead of wrapping.
+ *
+ * In JSON it is a plain decimal number with two places, the same shape the API had when
+ * salaries were doubles. Amounts with more than two decimal places are rejected rather
+ * than rounded.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits);
+    }
+
+    public static Money of(String amount) {
+        try {
+            return of(new BigDecimal(amount));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a money amount: " + amount);
+        }
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        try {
+            return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Money amounts need at most " + SCALE + " decimal places and must fit in a long: " + amount);
+        }
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /** Average of a total over a count, rounded half-even to the nearest minor unit. */
+    public static Money average(long totalMinorUnits, long count) {
+        return new Money(BigDecimal.valueOf(totalMinorUnits)
+                .divide(BigDecimal.valueOf(count), 0, RoundingMode.HALF_EVEN)
+                .longValueExact());
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /** Approximate value in major units, for statistics and logging only. */
+    public double doubleValue() {
+        return minorUnits / 100.0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
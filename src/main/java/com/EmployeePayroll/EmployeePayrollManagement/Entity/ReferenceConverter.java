@@ -0,0 +1,33 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Entity;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionary;
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Stores a name as the SMALLINT key of its reference table row and loads it back as the
+ * dictionary's canonical instance. The converter only looks keys up: new names are added by
+ * {@code EmployeeService} before it saves, outside Hibernate's flush, and an unknown name here
+ * is an error, so binding a name through the converter never writes to the reference tables.
+ */
+public abstract class ReferenceConverter implements AttributeConverter<String, Short> {
+
+    private final ReferenceDictionary dictionary;
+
+    protected ReferenceConverter(ReferenceDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String name) {
+        if (name == null) {
+            return null;
+        }
+        return dictionary.findId(name).orElseThrow(() -> new IllegalArgumentException(
+                "Unknown " + dictionary.table().table() + " name '" + name + "', it has to be registered before saving"));
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return dictionary.nameOf(id);
+    }
+}
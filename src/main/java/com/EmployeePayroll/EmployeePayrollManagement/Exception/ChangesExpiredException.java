@@ -0,0 +1,7 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Exception;
+
+public class ChangesExpiredException extends RuntimeException {
+    public ChangesExpiredException(String message) {
+        super(message);
+    }
+}
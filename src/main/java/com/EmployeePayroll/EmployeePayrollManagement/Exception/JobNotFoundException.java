@@ -0,0 +1,7 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Exception;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Exception;
+
+public class ReportNotReadyException extends RuntimeException {
+    public ReportNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.EmployeePayroll.EmployeePayrollManagement.Mapper;
 
 import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
 import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -19,12 +20,12 @@ public class EmployeeMapper {
         );
     }
 
-    // Converting DTO to Entity
+    // Converting DTO to Entity; a request without a salary stores 0, as it did before salaries became Money
     public static Employee toEntity(EmployeeDTO employeeDTO) {
         Employee employee = new Employee();
         employee.setEmpId(employeeDTO.getEmpId());
         employee.setName(employeeDTO.getName());
-        employee.setSalary(employeeDTO.getSalary());
+        employee.setSalary(employeeDTO.getSalary() == null ? Money.ZERO : employeeDTO.getSalary());
         employee.setDepartment(employeeDTO.getDepartment());
         employee.setDesignation(employeeDTO.getDesignation());
         employee.setEmploymentType(employeeDTO.getEmploymentType());
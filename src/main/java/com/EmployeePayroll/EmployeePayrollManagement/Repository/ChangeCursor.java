@@ -0,0 +1,7 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+/** Position in one shard's change feed: changes are ordered by sequence, then by employee id. */
+public record ChangeCursor(long changeSeq, long empId) {
+
+    public static final ChangeCursor START = new ChangeCursor(0, 0);
+}
@@ -0,0 +1,59 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stamps employee writes for the change feed (V6). Every writer takes the next value of its
+ * shard's sequence in the same transaction as its write; the counter row stays locked until
+ * that transaction commits, so values become visible in increasing order and a reader that
+ * has seen value n will never later find a committed value below it.
+ *
+ * Writers take the value last, after their rows are written and flushed, and stamp them with
+ * it. Locks are then always taken rows first, counter second, and the counter is only held
+ * for the commit rather than for the whole write.
+ *
+ * JPA saves and deletes are stamped by {@link EmployeeChangeTracking}; set-based writers
+ * call these methods themselves.
+ */
+public final class ChangeSequence {
+
+    public static final String ADVANCE = "UPDATE employee_change_sequence SET last_seq = last_seq + 1 WHERE id = 1";
+    public static final String CURRENT = "SELECT last_seq FROM employee_change_sequence WHERE id = 1";
+
+    private ChangeSequence() {
+    }
+
+    /** The next sequence value of the shard the template writes to. */
+    public static long next(JdbcTemplate jdbcTemplate) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Outside a transaction the counter lock would be released before the write commits
+            throw new IllegalStateException("Change sequence values must be taken inside the writing transaction");
+        }
+        jdbcTemplate.update(ADVANCE);
+        return jdbcTemplate.queryForObject(CURRENT, Long.class);
+    }
+
+    public static void stamp(JdbcTemplate jdbcTemplate, long changeSeq, Collection<Long> empIds) {
+        if (empIds.isEmpty()) {
+            return;
+        }
+        List<Object> params = new ArrayList<>(empIds.size() + 1);
+        params.add(changeSeq);
+        params.addAll(empIds);
+        jdbcTemplate.update("UPDATE employees SET change_seq = ? WHERE emp_id IN ("
+                + String.join(", ", Collections.nCopies(empIds.size(), "?")) + ")", params.toArray());
+    }
+
+    public static void tombstone(JdbcTemplate jdbcTemplate, long changeSeq, long empId) {
+        jdbcTemplate.update("INSERT INTO employee_tombstones (emp_id, change_seq, deleted_at) VALUES (?, ?, ?)",
+                empId, changeSeq, Timestamp.from(Instant.now()));
+    }
+}
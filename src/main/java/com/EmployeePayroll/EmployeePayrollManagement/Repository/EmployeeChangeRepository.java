@@ -0,0 +1,101 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the change feed of the shard the caller is routed to. Both sides of a page are range
+ * scans on a {@code (change_seq, emp_id)} index that stop after {@code limit} rows, so a page
+ * costs the same whatever the table size.
+ */
+@Repository
+public class EmployeeChangeRepository {
+
+    private static final String CHANGED_EMPLOYEES = "SELECT e.change_seq, e.emp_id, e.name, e.salary_minor, "
+            + ReferenceTable.DEPARTMENTS.nameColumn() + ", " + ReferenceTable.DESIGNATIONS.nameColumn() + ", "
+            + ReferenceTable.EMPLOYMENT_TYPES.nameColumn() + ", e.hire_date FROM employees e"
+            + ReferenceTable.DEPARTMENTS.join() + ReferenceTable.DESIGNATIONS.join() + ReferenceTable.EMPLOYMENT_TYPES.join()
+            + afterCursor("e.");
+    private static final String TOMBSTONES = "SELECT change_seq, emp_id FROM employee_tombstones" + afterCursor("");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+
+    public EmployeeChangeRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Up to {@code limit} changes after the cursor, in feed order. Both sides are read from one
+     * snapshot: otherwise a delete committing between the two queries would be missing from the
+     * employees and, with a sequence at or below a later page's cursor, from the tombstones too.
+     */
+    public List<EmployeeChange> findAfter(ChangeCursor cursor, int limit) {
+        Object[] params = {cursor.changeSeq(), cursor.changeSeq(), cursor.empId(), limit};
+        List<EmployeeChange> changes = snapshotTemplate.execute(status -> {
+            List<EmployeeChange> page = new ArrayList<>(jdbcTemplate.query(CHANGED_EMPLOYEES, (rs, rowNum) -> {
+                Date hireDate = rs.getDate(8);
+                EmployeeDTO employee = new EmployeeDTO(rs.getLong(2), rs.getString(3), Money.ofMinor(rs.getLong(4)),
+                        rs.getString(5), rs.getString(6), rs.getString(7), hireDate == null ? null : hireDate.toLocalDate());
+                return new EmployeeChange(new ChangeCursor(rs.getLong(1), rs.getLong(2)), employee);
+            }, params));
+            page.addAll(jdbcTemplate.query(TOMBSTONES,
+                    (rs, rowNum) -> new EmployeeChange(new ChangeCursor(rs.getLong(1), rs.getLong(2)), null), params));
+            return page;
+        });
+        changes.sort(Comparator.comparingLong((EmployeeChange change) -> change.position().changeSeq())
+                .thenComparingLong(change -> change.position().empId()));
+        return changes.size() > limit ? new ArrayList<>(changes.subList(0, limit)) : changes;
+    }
+
+    /** Highest sequence whose tombstones may have been removed; older cursors can no longer sync. */
+    public long compactedSeq() {
+        return jdbcTemplate.queryForObject("SELECT compacted_seq FROM employee_change_sequence WHERE id = 1", Long.class);
+    }
+
+    /** Removes the tombstones of deletes before the cutoff and returns how many were removed. */
+    public int compactTombstones(Instant cutoff) {
+        Long horizon = jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM employee_tombstones WHERE deleted_at < ?",
+                Long.class, Timestamp.from(cutoff));
+        if (horizon == null) {
+            return 0;
+        }
+        Integer removed = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE employee_change_sequence SET compacted_seq = ? WHERE id = 1 AND compacted_seq < ?",
+                    horizon, horizon);
+            return jdbcTemplate.update("DELETE FROM employee_tombstones WHERE change_seq <= ?", horizon);
+        });
+        return removed == null ? 0 : removed;
+    }
+
+    // The leading range keeps the (change_seq, emp_id) index usable; an OR alone would scan from the start
+    private static String afterCursor(String alias) {
+        return " WHERE " + alias + "change_seq >= ? AND (" + alias + "change_seq > ? OR " + alias + "emp_id > ?)"
+                + " ORDER BY " + alias + "change_seq, " + alias + "emp_id LIMIT ?";
+    }
+
+    /** An upsert carries the employee as it is now; a delete has no employee. */
+    public record EmployeeChange(ChangeCursor position, EmployeeDTO employee) {
+
+        public boolean deleted() {
+            return employee == null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+/**
+ * Replaces the {@link EmployeeRepository} methods that write employees, so every save is
+ * stamped with a change sequence and every delete leaves a tombstone in the same transaction.
+ * Generic like {@code CrudRepository}, so the methods override its methods instead of
+ * overloading them.
+ */
+public interface EmployeeChangeTracking<T, ID> {
+
+    <S extends T> S save(S entity);
+
+    void deleteById(ID id);
+}
@@ -0,0 +1,49 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class EmployeeChangeTrackingImpl implements EmployeeChangeTracking<Employee, Long> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EmployeeChangeTrackingImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public <S extends Employee> S save(S employee) {
+        S saved;
+        if (employee.getEmpId() == null) {
+            entityManager.persist(employee);
+            saved = employee;
+        } else {
+            saved = entityManager.merge(employee);
+        }
+        // change_seq is not mapped, so the row has to exist before it can be stamped
+        entityManager.flush();
+        ChangeSequence.stamp(jdbcTemplate, ChangeSequence.next(jdbcTemplate), List.of(saved.getEmpId()));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long empId) {
+        Employee employee = entityManager.find(Employee.class, empId);
+        if (employee == null) {
+            return;
+        }
+        entityManager.remove(employee);
+        entityManager.flush();
+        ChangeSequence.tombstone(jdbcTemplate, ChangeSequence.next(jdbcTemplate), empId);
+    }
+}
@@ -0,0 +1,67 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The columns of {@code employees} that the query endpoint can select, filter and sort on,
+ * keyed by their {@link com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO} property name.
+ * Fields stored as reference keys are read from the joined reference table's name.
+ */
+public enum EmployeeField {
+    EMP_ID("empId", "e.emp_id", null),
+    NAME("name", "e.name", null),
+    SALARY("salary", "e.salary_minor", null),
+    DEPARTMENT("department", null, ReferenceTable.DEPARTMENTS),
+    DESIGNATION("designation", null, ReferenceTable.DESIGNATIONS),
+    EMPLOYMENT_TYPE("employmentType", null, ReferenceTable.EMPLOYMENT_TYPES),
+    HIRE_DATE("hireDate", "e.hire_date", null);
+
+    private final String property;
+    private final String column;
+    private final ReferenceTable reference;
+
+    EmployeeField(String property, String column, ReferenceTable reference) {
+        this.property = property;
+        this.column = reference == null ? column : reference.nameColumn();
+        this.reference = reference;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    /** Select and sort expression, for queries that alias employees as {@code e}. */
+    public String column() {
+        return column;
+    }
+
+    /** The reference table holding this field's names, or null for a plain column. */
+    public ReferenceTable reference() {
+        return reference;
+    }
+
+    public static EmployeeField fromProperty(String property) {
+        for (EmployeeField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown employee field '" + property + "', expected one of "
+                + Arrays.stream(values()).map(EmployeeField::property).collect(Collectors.joining(", ")));
+    }
+
+    Object read(ResultSet rs, int columnIndex) throws SQLException {
+        return switch (this) {
+            case EMP_ID -> rs.getLong(columnIndex);
+            case SALARY -> Money.ofMinor(rs.getLong(columnIndex));
+            case HIRE_DATE -> rs.getObject(columnIndex, LocalDate.class);
+            default -> rs.getString(columnIndex);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeQuery;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A validated {@link EmployeeQuery}: which columns to read, which of them to return, and the
+ * sort order. Rows are always ordered by the sort field and then by emp_id, so the per-shard
+ * results can be merged and rows visible on two shards during a rebalance end up adjacent.
+ *
+ * @param selected columns read from the database; the returned ones plus emp_id and the sort field
+ * @param returned properties written to the client
+ * @param limit    maximum number of rows, or null for all matching rows
+ */
+public record EmployeeQueryPlan(EmployeeQuery filter, Set<EmployeeField> selected, Set<EmployeeField> returned,
+                                EmployeeField sortField, boolean descending, Integer limit) {
+
+    public static final int MAX_LIMIT = 1_000_000;
+
+    public static EmployeeQueryPlan of(EmployeeQuery query) {
+        Set<EmployeeField> returned = EnumSet.noneOf(EmployeeField.class);
+        if (query.getFields() == null || query.getFields().isEmpty()) {
+            returned = EnumSet.allOf(EmployeeField.class);
+        } else {
+            for (String property : query.getFields()) {
+                returned.add(EmployeeField.fromProperty(property.trim()));
+            }
+        }
+
+        EmployeeField sortField = EmployeeField.EMP_ID;
+        boolean descending = false;
+        if (query.getSort() != null && !query.getSort().isBlank()) {
+            String[] parts = query.getSort().split(",");
+            sortField = EmployeeField.fromProperty(parts[0].trim());
+            if (parts.length > 2 || (parts.length == 2 && !parts[1].trim().matches("(?i)asc|desc"))) {
+                throw new IllegalArgumentException("sort must be <field>[,asc|desc] but was '" + query.getSort() + "'");
+            }
+            descending = parts.length == 2 && parts[1].trim().equalsIgnoreCase("desc");
+        }
+
+        if (query.getLimit() != null && (query.getLimit() < 1 || query.getLimit() > MAX_LIMIT)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (query.getMinSalary() != null && query.getMaxSalary() != null
+                && query.getMinSalary().compareTo(query.getMaxSalary()) > 0) {
+            throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+        }
+        if (query.getHiredFrom() != null && query.getHiredTo() != null && query.getHiredFrom().isAfter(query.getHiredTo())) {
+            throw new IllegalArgumentException("hiredFrom must not be after hiredTo");
+        }
+
+        Set<EmployeeField> selected = EnumSet.copyOf(returned);
+        selected.add(EmployeeField.EMP_ID);
+        selected.add(sortField);
+        return new EmployeeQueryPlan(query, selected, returned, sortField, descending, query.getLimit());
+    }
+}
@@ -0,0 +1,84 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs an {@link EmployeeQueryPlan} as one parameterized SELECT that reads only the needed
+ * columns. Rows are streamed with the configured fetch size instead of being materialised as
+ * entities; on MySQL this needs {@code useCursorFetch=true} on the JDBC URL.
+ */
+@Repository
+public class EmployeeQueryRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeQueryRepository(DataSource dataSource, @Value("${payroll.query.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams the matching rows of the current shard. A row holds each selected value at its
+     * field's ordinal. The stream keeps its connection until it is closed.
+     */
+    public Stream<Object[]> stream(EmployeeQueryPlan plan) {
+        List<Object> params = new ArrayList<>();
+        String sql = toSql(plan, params);
+        List<EmployeeField> columns = new ArrayList<>(plan.selected());
+        return jdbcTemplate.queryForStream(sql, (rs, rowNum) -> {
+            Object[] row = new Object[EmployeeField.values().length];
+            for (int i = 0; i < columns.size(); i++) {
+                row[columns.get(i).ordinal()] = columns.get(i).read(rs, i + 1);
+            }
+            return row;
+        }, params.toArray());
+    }
+
+    static String toSql(EmployeeQueryPlan plan, List<Object> params) {
+        EmployeeQuery filter = plan.filter();
+        List<String> conditions = new ArrayList<>();
+        // Reference fields are filtered on their key; only selected names are joined in
+        addCondition(conditions, params, ReferenceTable.DEPARTMENTS.keyMatchingName("e"), filter.getDepartment());
+        addCondition(conditions, params, ReferenceTable.DESIGNATIONS.keyMatchingName("e"), filter.getDesignation());
+        addCondition(conditions, params, ReferenceTable.EMPLOYMENT_TYPES.keyMatchingName("e"), filter.getEmploymentType());
+        addCondition(conditions, params, "e.salary_minor >= ?", filter.getMinSalary() == null ? null : filter.getMinSalary().minorUnits());
+        addCondition(conditions, params, "e.salary_minor <= ?", filter.getMaxSalary() == null ? null : filter.getMaxSalary().minorUnits());
+        addCondition(conditions, params, "e.hire_date >= ?", filter.getHiredFrom());
+        addCondition(conditions, params, "e.hire_date <= ?", filter.getHiredTo());
+
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(plan.selected().stream().map(EmployeeField::column).collect(Collectors.joining(", ")))
+                .append(" FROM employees e");
+        plan.selected().stream()
+                .filter(field -> field.reference() != null)
+                .forEach(field -> sql.append(field.reference().join()));
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(plan.sortField().column()).append(plan.descending() ? " DESC" : " ASC");
+        if (plan.sortField() != EmployeeField.EMP_ID) {
+            sql.append(", e.emp_id ASC");
+        }
+        if (plan.limit() != null) {
+            sql.append(" LIMIT ?");
+            params.add(plan.limit());
+        }
+        return sql.toString();
+    }
+
+    private static void addCondition(List<String> conditions, List<Object> params, String condition, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            params.add(value);
+        }
+    }
+}
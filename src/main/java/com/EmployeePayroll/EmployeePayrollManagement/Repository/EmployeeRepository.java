@@ -2,8 +2,63 @@ package com.EmployeePayroll.EmployeePayrollManagement.Repository;
 
 import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeChangeTracking<Employee, Long> {
+
+    // SUM over BIGINT comes back as DECIMAL, so the database total cannot overflow
+    @Query(value = "SELECT COALESCE(SUM(salary_minor), 0) AS totalMinor, COUNT(*) AS headcount "
+            + "FROM employees WHERE department_id = :departmentId", nativeQuery = true)
+    SalaryTotals salaryTotalsByDepartmentId(@Param("departmentId") short departmentId);
+
+    // Grouping reads only the key and the name; department names are joined in by the caller
+    @Query(value = "SELECT department_id AS departmentId, name FROM employees", nativeQuery = true)
+    List<DepartmentMember> findDepartmentMembers();
+
+    @Query(value = "SELECT name FROM employees WHERE department_id = :departmentId", nativeQuery = true)
+    List<String> findNamesByDepartmentId(@Param("departmentId") short departmentId);
+
+    @Query(value = "SELECT * FROM employees WHERE designation_id = :designationId", nativeQuery = true)
+    List<Employee> findByDesignationId(@Param("designationId") short designationId);
+
+    // One row per designation, so the caller adds the base salary once per head without reading employees
+    @Query(value = "SELECT designation_id AS designationId, COALESCE(SUM(salary_minor), 0) AS totalMinor, "
+            + "COUNT(*) AS headcount FROM employees GROUP BY designation_id", nativeQuery = true)
+    List<DesignationTotals> salaryTotalsByDesignationId();
+
+    // Walks the salary index from the top; emp_id breaks ties the same way on every shard
+    @Query(value = "SELECT * FROM employees ORDER BY salary_minor DESC, emp_id LIMIT :limit", nativeQuery = true)
+    List<Employee> findTopBySalary(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM employees WHERE hire_date > :cutoff", nativeQuery = true)
+    List<Employee> findHiredAfter(@Param("cutoff") LocalDate cutoff);
+
+    interface SalaryTotals {
+        BigDecimal getTotalMinor();
+
+        long getHeadcount();
+    }
+
+    interface DesignationTotals {
+        // SMALLINT comes back as Short or Integer depending on the driver
+        Number getDesignationId();
+
+        BigDecimal getTotalMinor();
+
+        long getHeadcount();
+    }
+
+    interface DepartmentMember {
+        // SMALLINT comes back as Short or Integer depending on the driver
+        Number getDepartmentId();
+
+        String getName();
+    }
 }
@@ -0,0 +1,53 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Config.ShardingConfiguration.ShardDataSources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link ReferenceDictionary} of every {@link ReferenceTable}. With sharding enabled the
+ * dictionaries write to the raw shard pools, including shards that are not active yet, so a
+ * rebalance onto them finds every key already there.
+ */
+@Component
+public class ReferenceDictionaries {
+
+    private final Map<ReferenceTable, ReferenceDictionary> dictionaries = new EnumMap<>(ReferenceTable.class);
+
+    @Autowired
+    public ReferenceDictionaries(ObjectProvider<ShardDataSources> shardDataSources, DataSource dataSource) {
+        this(shardsOrSingle(shardDataSources.getIfAvailable(), dataSource));
+    }
+
+    public ReferenceDictionaries(List<DataSource> shards) {
+        for (ReferenceTable table : ReferenceTable.values()) {
+            dictionaries.put(table, new ReferenceDictionary(table, shards));
+        }
+    }
+
+    private static List<DataSource> shardsOrSingle(ShardDataSources sharded, DataSource dataSource) {
+        return sharded != null ? sharded.shards() : List.of(dataSource);
+    }
+
+    public ReferenceDictionary get(ReferenceTable table) {
+        return dictionaries.get(table);
+    }
+
+    public ReferenceDictionary departments() {
+        return get(ReferenceTable.DEPARTMENTS);
+    }
+
+    public ReferenceDictionary designations() {
+        return get(ReferenceTable.DESIGNATIONS);
+    }
+
+    public ReferenceDictionary employmentTypes() {
+        return get(ReferenceTable.EMPLOYMENT_TYPES);
+    }
+}
@@ -0,0 +1,142 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of one {@link ReferenceTable}: names to keys for writes and filters, keys to
+ * names for reads. Names match case-insensitively, the spelling that was stored first wins,
+ * and every key maps to a single String instance, so loaded employees share their names
+ * instead of holding one copy per row.
+ *
+ * A new name is numbered on the first shard and the same (id, name) row is then written to
+ * every other shard, so a key means the same thing on all shards and rows moved by a
+ * rebalance stay valid.
+ */
+public class ReferenceDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDictionary.class);
+    private static final int CREATE_ATTEMPTS = 3;
+
+    private final ReferenceTable table;
+    private final List<DataSource> shards;
+    private final Map<String, Short> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Short, String> namesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public ReferenceDictionary(ReferenceTable table, List<DataSource> shards) {
+        this.table = table;
+        this.shards = shards;
+    }
+
+    public ReferenceTable table() {
+        return table;
+    }
+
+    /** Key of a name that is already in the table. */
+    public Optional<Short> findId(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        ensureLoaded();
+        Short id = idsByKey.get(key(name));
+        if (id == null) {
+            // Another instance may have added it since we loaded
+            reload();
+            id = idsByKey.get(key(name));
+        }
+        return Optional.ofNullable(id);
+    }
+
+    /** Key of a name, adding the name to the table on every shard if it is new. */
+    public short idFor(String name) {
+        return findId(name).orElseGet(() -> create(name));
+    }
+
+    /** The canonical name of a key; null for a null key. */
+    public String nameOf(Short id) {
+        if (id == null) {
+            return null;
+        }
+        ensureLoaded();
+        String name = namesById.get(id);
+        if (name == null) {
+            reload();
+            name = namesById.get(id);
+            if (name == null) {
+                throw new IllegalStateException("Unknown " + table.table() + " id " + id);
+            }
+        }
+        return name;
+    }
+
+    public synchronized void reload() {
+        new JdbcTemplate(shards.get(0)).query("SELECT id, name FROM " + table.table() + " ORDER BY id", rs -> {
+            remember(rs.getShort(1), rs.getString(2));
+        });
+        loaded = true;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private synchronized short create(String name) {
+        Short existing = idsByKey.get(key(name));
+        if (existing != null) {
+            return existing;
+        }
+        JdbcTemplate first = new JdbcTemplate(shards.get(0));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                first.update("INSERT INTO " + table.table() + " (id, name) SELECT COALESCE(MAX(id), 0) + 1, ? FROM "
+                        + table.table(), name);
+                break;
+            } catch (DuplicateKeyException e) {
+                // Another instance added this name, or took the next id, at the same time
+                reload();
+                existing = idsByKey.get(key(name));
+                if (existing != null) {
+                    return existing;
+                }
+                if (attempt == CREATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+        short id = first.queryForObject("SELECT id FROM " + table.table() + " WHERE name = ?", Short.class, name);
+        for (int shard = 1; shard < shards.size(); shard++) {
+            try {
+                new JdbcTemplate(shards.get(shard)).update("INSERT INTO " + table.table() + " (id, name) VALUES (?, ?)", id, name);
+            } catch (DuplicateKeyException e) {
+                // Already copied by the instance that won a concurrent insert
+            }
+        }
+        remember(id, name);
+        logger.info("Added {} '{}' with id {}", table.table(), name, id);
+        return id;
+    }
+
+    private void remember(short id, String name) {
+        String known = namesById.get(id);
+        if (!name.equals(known)) {
+            namesById.put(id, name);
+        }
+        idsByKey.putIfAbsent(key(name), id);
+    }
+
+    static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,107 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Makes the {@link ReferenceTable} keys agree across shards. Every shard numbers its names on
+ * its own when it is migrated, so at startup the first shard's numbering is taken as the
+ * canonical one, names only other shards know are numbered after it, and shards that differ
+ * have their employee keys rewritten in the same transaction as their reference table.
+ */
+public final class ReferenceKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceKeys.class);
+
+    private ReferenceKeys() {
+    }
+
+    public static void reconcile(List<DataSource> shards) {
+        for (ReferenceTable table : ReferenceTable.values()) {
+            reconcile(table, shards);
+        }
+    }
+
+    static void reconcile(ReferenceTable table, List<DataSource> shards) {
+        List<Map<Short, String>> shardRows = shards.stream().map(shard -> load(shard, table)).collect(Collectors.toList());
+
+        Map<String, Short> canonicalIds = new HashMap<>();
+        Map<Short, String> canonicalRows = new LinkedHashMap<>();
+        short nextId = (short) (shardRows.get(0).keySet().stream().mapToInt(Short::intValue).max().orElse(0) + 1);
+        for (int shard = 0; shard < shards.size(); shard++) {
+            for (Map.Entry<Short, String> row : shardRows.get(shard).entrySet()) {
+                String key = ReferenceDictionary.key(row.getValue());
+                if (canonicalIds.containsKey(key)) {
+                    continue;
+                }
+                short id = shard == 0 ? row.getKey() : nextId++;
+                canonicalIds.put(key, id);
+                canonicalRows.put(id, row.getValue());
+            }
+        }
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Map<Short, String> rows = shardRows.get(shard);
+            Map<Short, Short> remap = new LinkedHashMap<>();
+            rows.forEach((id, name) -> {
+                short canonical = canonicalIds.get(ReferenceDictionary.key(name));
+                if (canonical != id) {
+                    remap.put(id, canonical);
+                }
+            });
+            if (remap.isEmpty() && rows.equals(canonicalRows)) {
+                continue;
+            }
+            rewrite(shards.get(shard), table, remap, canonicalRows);
+            logger.info("Reconciled {} on shard {}: {} keys renumbered, {} names in total",
+                    table.table(), shard, remap.size(), canonicalRows.size());
+        }
+    }
+
+    private static Map<Short, String> load(DataSource shard, ReferenceTable table) {
+        Map<Short, String> rows = new LinkedHashMap<>();
+        new JdbcTemplate(shard).query("SELECT id, name FROM " + table.table() + " ORDER BY id",
+                rs -> {
+                    rows.put(rs.getShort(1), rs.getString(2));
+                });
+        return rows;
+    }
+
+    private static void rewrite(DataSource shard, ReferenceTable table, Map<Short, Short> remap, Map<Short, String> canonicalRows) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        new TransactionTemplate(new DataSourceTransactionManager(shard)).executeWithoutResult(status -> {
+            if (!remap.isEmpty()) {
+                // One statement, so keys that swap places are not applied twice
+                String column = table.keyColumn();
+                List<Object> params = new ArrayList<>();
+                StringBuilder sql = new StringBuilder("UPDATE employees SET ").append(column).append(" = CASE ").append(column);
+                remap.forEach((from, to) -> {
+                    sql.append(" WHEN ? THEN ?");
+                    params.add(from);
+                    params.add(to);
+                });
+                sql.append(" ELSE ").append(column).append(" END WHERE ").append(column)
+                        .append(" IN (").append(String.join(", ", Collections.nCopies(remap.size(), "?"))).append(")");
+                params.addAll(remap.keySet());
+                jdbcTemplate.update(sql.toString(), params.toArray());
+            }
+            jdbcTemplate.update("DELETE FROM " + table.table());
+            jdbcTemplate.batchUpdate("INSERT INTO " + table.table() + " (id, name) VALUES (?, ?)",
+                    canonicalRows.entrySet().stream()
+                            .map(row -> new Object[]{row.getKey(), row.getValue()})
+                            .collect(Collectors.toList()));
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+/**
+ * The small lookup tables that {@code employees} references by a SMALLINT key instead of
+ * repeating the text in every row.
+ */
+public enum ReferenceTable {
+    DEPARTMENTS("departments", "department_id", "dep"),
+    DESIGNATIONS("designations", "designation_id", "des"),
+    EMPLOYMENT_TYPES("employment_types", "employment_type_id", "emt");
+
+    private final String table;
+    private final String keyColumn;
+    private final String alias;
+
+    ReferenceTable(String table, String keyColumn, String alias) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.alias = alias;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    /** The column of {@code employees} holding the key. */
+    public String keyColumn() {
+        return keyColumn;
+    }
+
+    /** Join that brings in the name, for queries that alias employees as {@code e}. */
+    String join() {
+        return " LEFT JOIN " + table + " " + alias + " ON " + alias + ".id = e." + keyColumn;
+    }
+
+    String nameColumn() {
+        return alias + ".name";
+    }
+
+    /** Condition on the key for a name parameter; the name lookup is a single unique-index probe. */
+    public String keyMatchingName(String employeesAlias) {
+        String column = employeesAlias == null ? keyColumn : employeesAlias + "." + keyColumn;
+        return column + " = (SELECT id FROM " + table + " WHERE name = ?)";
+    }
+}
@@ -0,0 +1,117 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interleaves the emp_id identity of every shard so shard {@code k} of {@code n} only ever
+ * generates ids where {@code (id - 1) % n == k}, which is what {@link ShardRouter#shardForId} relies on.
+ *
+ * On H2 the step and start are set on the column. MySQL only has a server-wide step and
+ * offset ({@code auto_increment_increment}/{@code auto_increment_offset}), which apply to
+ * every AUTO_INCREMENT table on the server; they belong to the server's configuration, so
+ * they are only checked here and each MySQL shard needs a server of its own.
+ */
+public final class ShardIdentity {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardIdentity.class);
+
+    private ShardIdentity() {
+    }
+
+    /**
+     * Reconfigures the first {@code shardCount} shards for a layout of that many shards.
+     * New ids start above the highest id on any shard, so they never clash with rows
+     * that a rebalance still has to move.
+     */
+    public static void interleave(List<DataSource> shards, int shardCount) {
+        verify(shards, shardCount);
+        long maxId = 0;
+        for (DataSource shard : shards) {
+            Long shardMax = new JdbcTemplate(shard).queryForObject("SELECT COALESCE(MAX(emp_id), 0) FROM employees", Long.class);
+            maxId = Math.max(maxId, shardMax == null ? 0 : shardMax);
+        }
+        for (int k = 0; k < shardCount; k++) {
+            configure(shards.get(k), k, shardCount, maxId);
+        }
+    }
+
+    /**
+     * Fails unless the first {@code shardCount} shards can generate ids for a layout of that
+     * many shards; changes nothing. MySQL servers have to be reconfigured before a rebalance.
+     */
+    public static void verify(List<DataSource> shards, int shardCount) {
+        Map<String, Integer> shardByServer = new HashMap<>();
+        for (int k = 0; k < shardCount; k++) {
+            DataSource shard = shards.get(k);
+            String product = databaseProduct(shard);
+            if (product.startsWith("H2")) {
+                continue;
+            }
+            if (!product.startsWith("MySQL")) {
+                throw new IllegalStateException("Sharding does not support " + product);
+            }
+            Map<String, Object> server = new JdbcTemplate(shard).queryForMap("SELECT @@server_uuid AS server_uuid, "
+                    + "@@GLOBAL.auto_increment_increment AS increment_step, @@GLOBAL.auto_increment_offset AS increment_offset");
+            Integer sharing = shardByServer.putIfAbsent((String) server.get("server_uuid"), k);
+            if (sharing != null) {
+                throw new IllegalStateException("Shards " + sharing + " and " + k + " are on the same MySQL server; "
+                        + "id interleaving is configured per server, so every shard needs its own");
+            }
+            long increment = ((Number) server.get("increment_step")).longValue();
+            long offset = ((Number) server.get("increment_offset")).longValue();
+            if (increment != shardCount || offset != k + 1) {
+                throw new IllegalStateException("Shard " + k + " of " + shardCount + " needs auto_increment_increment="
+                        + shardCount + " and auto_increment_offset=" + (k + 1) + " in its MySQL server configuration, "
+                        + "but the server has " + increment + " and " + offset);
+            }
+        }
+    }
+
+    static void configure(DataSource shard, int shardIndex, int shardCount, long maxExistingId) {
+        // First id above every existing id that belongs to this shard
+        long nextId = maxExistingId + 1 + Math.floorMod(shardIndex - maxExistingId, (long) shardCount);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        String product = databaseProduct(shard);
+
+        if (product.startsWith("H2")) {
+            jdbcTemplate.execute("ALTER TABLE employees ALTER COLUMN emp_id SET INCREMENT BY " + shardCount);
+            jdbcTemplate.execute("ALTER TABLE employees ALTER COLUMN emp_id RESTART WITH " + nextId);
+        } else if (product.startsWith("MySQL")) {
+            jdbcTemplate.execute("ALTER TABLE employees AUTO_INCREMENT = " + nextId);
+            Map<String, Object> session = jdbcTemplate.queryForMap(
+                    "SELECT @@SESSION.auto_increment_increment AS increment_step, @@SESSION.auto_increment_offset AS increment_offset");
+            boolean stale = ((Number) session.get("increment_step")).longValue() != shardCount
+                    || ((Number) session.get("increment_offset")).longValue() != shardIndex + 1;
+            // Pooled sessions keep the values the server had when they connected
+            if (stale && shard instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                if (pool != null) {
+                    pool.softEvictConnections();
+                }
+            }
+        } else {
+            throw new IllegalStateException("Sharding does not support " + product);
+        }
+        logger.info("Shard {} of {} will generate ids {}, {}, ...", shardIndex, shardCount, nextId, nextId + shardCount);
+    }
+
+    private static String databaseProduct(DataSource dataSource) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not determine the shard database type", e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.ServiceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Moves employees to a new number of shards while the application keeps serving traffic.
+ *
+ * The router switches to the new layout first: inserts go to the new shards straight away,
+ * id lookups try the new owner and fall back to the old one, and aggregates de-duplicate
+ * rows until the move is done. Each source shard is then walked once in emp_id order with a
+ * keyset cursor, without locks, and the misplaced ids of every chunk are moved. Only those
+ * rows are locked on the source, written to their new shard and deleted from the source in
+ * one source transaction, so a concurrent update of a row that is being moved waits for the
+ * chunk and then fails instead of being lost, while rows that stay put are never blocked.
+ */
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private final List<DataSource> shards;
+    private final ShardRouter shardRouter;
+    private final int chunkSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong movedRows = new AtomicLong();
+    private volatile String lastError;
+    private Future<Long> current;
+
+    public ShardRebalancer(List<DataSource> shards, ShardRouter shardRouter, int chunkSize) {
+        this.shards = shards;
+        this.shardRouter = shardRouter;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Starts moving to {@code targetShards} shards in the background. Calling it again with
+     * the same target after a failed run resumes the move.
+     */
+    public synchronized Future<Long> start(int targetShards) {
+        if (targetShards < 1 || targetShards > shards.size()) {
+            throw new IllegalArgumentException("targetShards must be between 1 and " + shards.size() + " (the configured shards)");
+        }
+        int sourceShards;
+        if (shardRouter.isRebalancing()) {
+            boolean resumable = current != null && current.isDone() && targetShards == shardRouter.shardCount();
+            if (!resumable) {
+                throw new ServiceBusyException("A shard rebalance is already in progress");
+            }
+            sourceShards = shardRouter.previousShardCount();
+        } else {
+            sourceShards = shardRouter.shardCount();
+            // Refused before the router switches, so new writes never get ids for the wrong layout
+            ShardIdentity.verify(shards, targetShards);
+            shardRouter.beginRebalance(targetShards);
+            movedRows.set(0);
+        }
+        lastError = null;
+        current = executor.submit(() -> run(sourceShards, targetShards));
+        return current;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("rebalancing", shardRouter.isRebalancing());
+        status.put("shardCount", shardRouter.shardCount());
+        status.put("configuredShards", shards.size());
+        status.put("movedRows", movedRows.get());
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private long run(int sourceShards, int targetShards) {
+        long start = System.nanoTime();
+        try {
+            ShardIdentity.interleave(shards, targetShards);
+            for (int source = 0; source < Math.max(sourceShards, targetShards); source++) {
+                // New employees are already routed by the target layout, so nothing misplaced appears behind the cursor
+                long lastEmpId = 0;
+                do {
+                    lastEmpId = moveChunk(source, targetShards, lastEmpId);
+                } while (lastEmpId > 0);
+            }
+            shardRouter.finishRebalance();
+            logger.info("Rebalanced {} employees from {} to {} shards in {} ms; set payroll.sharding.active-shards={}",
+                    movedRows.get(), sourceShards, targetShards, (System.nanoTime() - start) / 1_000_000, targetShards);
+            return movedRows.get();
+        } catch (RuntimeException e) {
+            // The router stays in the mixed layout so nothing becomes unreachable; starting again resumes the move
+            lastError = e.getMessage();
+            logger.error("Shard rebalance to {} shards stopped after {} rows", targetShards, movedRows.get(), e);
+            throw e;
+        }
+    }
+
+    /** Moves the misplaced rows among the next chunk of ids after {@code lastEmpId}; returns the last id scanned, or 0 at the end. */
+    private long moveChunk(int source, int targetShards, long lastEmpId) {
+        DataSource sourceShard = shards.get(source);
+        JdbcTemplate sourceJdbc = new JdbcTemplate(sourceShard);
+        List<Long> scanned = sourceJdbc.queryForList(
+                "SELECT emp_id FROM employees WHERE emp_id > ? ORDER BY emp_id LIMIT ?", Long.class, lastEmpId, chunkSize);
+        if (scanned.isEmpty()) {
+            return 0;
+        }
+        List<Long> misplaced = scanned.stream()
+                .filter(id -> ShardRouter.shardForId(id, targetShards) != source)
+                .collect(Collectors.toList());
+        if (!misplaced.isEmpty()) {
+            Integer moved = new TransactionTemplate(new DataSourceTransactionManager(sourceShard)).execute(status -> {
+                // Rows deleted since the scan are simply not returned
+                List<Map<String, Object>> rows = sourceJdbc.queryForList(
+                        "SELECT * FROM employees WHERE emp_id IN (" + placeholders(misplaced.size()) + ") ORDER BY emp_id FOR UPDATE",
+                        misplaced.toArray());
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+                Map<Integer, List<Map<String, Object>>> byTarget = rows.stream()
+                        .collect(Collectors.groupingBy(row -> ShardRouter.shardForId(empId(row), targetShards)));
+                byTarget.forEach((target, targetRows) -> copy(shards.get(target), targetRows));
+
+                List<Long> ids = rows.stream().map(ShardRebalancer::empId).collect(Collectors.toList());
+                sourceJdbc.update("DELETE FROM employees WHERE emp_id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+                return rows.size();
+            });
+            movedRows.addAndGet(moved == null ? 0 : moved);
+        }
+        return scanned.get(scanned.size() - 1);
+    }
+
+    private static void copy(DataSource target, List<Map<String, Object>> rows) {
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        List<Long> ids = rows.stream().map(ShardRebalancer::empId).collect(Collectors.toList());
+        new TransactionTemplate(new DataSourceTransactionManager(target)).executeWithoutResult(status -> {
+            // A chunk that failed half-way may already be on the target
+            targetJdbc.update("DELETE FROM employees WHERE emp_id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+
+            String insert = "INSERT INTO employees (" + String.join(", ", columns) + ") VALUES (" + placeholders(columns.size()) + ")";
+            List<Object[]> values = rows.stream()
+                    .map(row -> columns.stream().map(row::get).toArray())
+                    .collect(Collectors.toList());
+            targetJdbc.batchUpdate(insert, values);
+            // Sequence values are per shard: re-announce the rows on the target so its feed readers see them
+            ChangeSequence.stamp(targetJdbc, ChangeSequence.next(targetJdbc), ids);
+        });
+    }
+
+    private static long empId(Map<String, Object> row) {
+        return ((Number) row.get("emp_id")).longValue();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
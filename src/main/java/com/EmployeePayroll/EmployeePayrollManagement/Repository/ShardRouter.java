@@ -0,0 +1,178 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard {@link EmployeeRepository} calls go to.
+ *
+ * Employees are partitioned by empId: shard {@code k} of {@code n} owns the ids where
+ * {@code (empId - 1) % n == k}. Each shard's identity column is interleaved the same way
+ * (start {@code k + 1}, increment {@code n}), so ids stay globally unique without
+ * coordination and new rows can be inserted on any shard.
+ *
+ * The current shard is kept in a thread local that {@link ShardRoutingDataSource} reads
+ * when a connection is taken, so work must be wrapped in one of the {@code on...} methods.
+ * With a single shard every method simply runs the work on the calling thread.
+ */
+public class ShardRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final ExecutorService scatterExecutor;
+    private final AtomicInteger nextInsertShard = new AtomicInteger();
+    private volatile int shardCount;
+    // Layout being moved away from while a rebalance runs, 0 otherwise
+    private volatile int previousShardCount;
+
+    public ShardRouter(int shardCount, ExecutorService scatterExecutor) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardCount = shardCount;
+        this.scatterExecutor = scatterExecutor;
+    }
+
+    public static ShardRouter singleShard() {
+        return new ShardRouter(1, null);
+    }
+
+    public static ShardRouter withScatterThreads(int shardCount, int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ShardRouter(shardCount, Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /** Shard bound to the calling thread, or null outside of routed work. */
+    public static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /** Shards a query over all employees must visit; during a rebalance this includes the old layout. */
+    public int queriedShardCount() {
+        return Math.max(shardCount, previousShardCount);
+    }
+
+    public boolean isRebalancing() {
+        return previousShardCount != 0;
+    }
+
+    public int shardForId(long empId) {
+        return shardForId(empId, shardCount);
+    }
+
+    public static int shardForId(long empId, int shardCount) {
+        return (int) Math.floorMod(empId - 1, (long) shardCount);
+    }
+
+    /** New employees are spread round-robin; the shard's interleaved identity makes the id route back to it. */
+    public int shardForNewEmployee() {
+        return Math.floorMod(nextInsertShard.getAndIncrement(), shardCount);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs a lookup on the shard owning the employee. While a rebalance is in progress the
+     * row may not have moved yet, so an empty result falls back to the shard of the old layout.
+     */
+    public <T> Optional<T> onEmployeeShard(long empId, Supplier<Optional<T>> work) {
+        int shard = shardForId(empId);
+        Optional<T> result = onShard(shard, work);
+        int previous = previousShardCount;
+        if (result.isEmpty() && previous != 0 && shardForId(empId, previous) != shard) {
+            result = onShard(shardForId(empId, previous), work);
+        }
+        return result;
+    }
+
+    /** Runs the work once per shard, in parallel, and returns the results in shard order. */
+    public <T> List<T> scatter(Supplier<T> work) {
+        int shards = queriedShardCount();
+        if (shards == 1 || scatterExecutor == null) {
+            List<T> results = new ArrayList<>(shards);
+            for (int shard = 0; shard < shards; shard++) {
+                results.add(onShard(shard, work));
+            }
+            return shards == 1 ? Collections.singletonList(results.get(0)) : results;
+        }
+
+        List<Future<T>> futures = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> onShard(target, work)));
+        }
+        List<T> results = new ArrayList<>(shards);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard results", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+        return results;
+    }
+
+    void beginRebalance(int newShardCount) {
+        if (isRebalancing()) {
+            throw new IllegalStateException("A rebalance is already in progress");
+        }
+        logger.info("Shard layout moving from {} to {} shards", shardCount, newShardCount);
+        previousShardCount = shardCount;
+        shardCount = newShardCount;
+    }
+
+    void finishRebalance() {
+        logger.info("Shard layout is now {} shards", shardCount);
+        previousShardCount = 0;
+    }
+
+    int previousShardCount() {
+        return previousShardCount;
+    }
+
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+    }
+}
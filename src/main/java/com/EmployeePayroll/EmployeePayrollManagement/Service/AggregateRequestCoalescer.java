@@ -0,0 +1,103 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.ServiceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sits in front of the expensive {@link EmployeeService} aggregates.
+ * Concurrent calls with the same key share one in-flight computation (single-flight),
+ * and the number of distinct aggregates computed at once is capped by a bulkhead so
+ * a refresh storm cannot take every database connection away from CRUD requests.
+ */
+@Component
+public class AggregateRequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregateRequestCoalescer.class);
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Semaphore bulkhead;
+    private final long acquireTimeoutMs;
+
+    public AggregateRequestCoalescer(@Value("${payroll.aggregate.max-concurrent:4}") int maxConcurrent,
+                                     @Value("${payroll.aggregate.acquire-timeout-ms:100}") long acquireTimeoutMs) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("payroll.aggregate.max-concurrent must be at least 1");
+        }
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * Runs the computation for the given key, or joins the one already running for it.
+     * Throws {@link ServiceBusyException} when the bulkhead stays full for longer than the acquire timeout.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> computation) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            logger.debug("Joining in-flight aggregate computation for key {}", key);
+            return (T) await(existing);
+        }
+
+        try {
+            leader.complete(runInBulkhead(key, computation));
+        } catch (Throwable t) {
+            leader.completeExceptionally(t);
+        } finally {
+            inFlight.remove(key, leader);
+        }
+        return (T) await(leader);
+    }
+
+    public int availablePermits() {
+        return bulkhead.availablePermits();
+    }
+
+    private <T> T runInBulkhead(String key, Supplier<T> computation) {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for aggregate capacity");
+        }
+        if (!acquired) {
+            logger.warn("Aggregate bulkhead saturated, rejecting computation for key {}", key);
+            throw new ServiceBusyException("Too many aggregate requests in progress, please retry shortly");
+        }
+        try {
+            return computation.get();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for aggregate result");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
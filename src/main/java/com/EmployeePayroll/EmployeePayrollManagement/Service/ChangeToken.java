@@ -0,0 +1,68 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ChangeCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The {@code since}/{@code next} token of the change feed: one {@link ChangeCursor} per shard,
+ * because every shard numbers its changes on its own. Clients treat it as opaque. Shards the
+ * token does not mention yet (added since it was issued) start from the beginning.
+ */
+public final class ChangeToken {
+
+    private final List<ChangeCursor> cursors;
+
+    private ChangeToken(List<ChangeCursor> cursors) {
+        this.cursors = cursors;
+    }
+
+    static ChangeToken start() {
+        return new ChangeToken(new ArrayList<>());
+    }
+
+    static ChangeToken parse(String token) {
+        List<ChangeCursor> cursors = new ArrayList<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            for (String cursor : decoded.split(",")) {
+                int dot = cursor.indexOf('.');
+                cursors.add(new ChangeCursor(Long.parseLong(cursor.substring(0, dot)), Long.parseLong(cursor.substring(dot + 1))));
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Not a change token: " + token);
+        }
+        return new ChangeToken(cursors);
+    }
+
+    ChangeCursor cursor(int shard) {
+        return shard < cursors.size() ? cursors.get(shard) : ChangeCursor.START;
+    }
+
+    int shards() {
+        return cursors.size();
+    }
+
+    ChangeToken with(int shard, ChangeCursor cursor) {
+        List<ChangeCursor> moved = new ArrayList<>(cursors);
+        while (moved.size() <= shard) {
+            moved.add(ChangeCursor.START);
+        }
+        moved.set(shard, cursor);
+        return new ChangeToken(moved);
+    }
+
+    String encode() {
+        StringBuilder encoded = new StringBuilder();
+        for (ChangeCursor cursor : cursors) {
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(cursor.changeSeq()).append('.').append(cursor.empId());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(encoded.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,172 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.ChangesExpiredException;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ChangeCursor;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeChangeRepository;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeChangeRepository.EmployeeChange;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers {@code GET /api/employees/changes}: the employees written since a token, each once
+ * in its current state, and the ids deleted since then. A client syncs once without a token,
+ * then keeps the returned {@code next} token and asks again, so each sync costs what changed
+ * rather than the whole headcount.
+ *
+ * The feed needs no log compaction for upserts, because an employee's row only carries its
+ * latest sequence. Tombstones are kept for {@code payroll.changes.tombstone-retention}; a token
+ * older than the tombstones removed since is refused with a 410, and the client syncs again
+ * from scratch.
+ *
+ * Created eagerly even with lazy initialisation, so tombstones are compacted whether or not
+ * the feed is ever read.
+ */
+@Service
+@Lazy(false)
+public class EmployeeChangeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeService.class);
+
+    public static final int DEFAULT_LIMIT = 1_000;
+    public static final int MAX_LIMIT = 10_000;
+
+    private final EmployeeChangeRepository changeRepository;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final Duration tombstoneRetention;
+    private final ScheduledExecutorService compactor;
+
+    public EmployeeChangeService(EmployeeChangeRepository changeRepository, ShardRouter shardRouter, ObjectMapper objectMapper,
+                                 @Value("${payroll.changes.tombstone-retention:30d}") Duration tombstoneRetention,
+                                 @Value("${payroll.changes.compaction-interval:1h}") Duration compactionInterval) {
+        this.changeRepository = changeRepository;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.tombstoneRetention = tombstoneRetention;
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compactQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /** Validates the request; call before the response is committed so errors still become a 4xx. */
+    public ChangeRequest plan(String since, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (since == null || since.isBlank()) {
+            return new ChangeRequest(ChangeToken.start(), pageSize);
+        }
+        ChangeToken token = ChangeToken.parse(since);
+        List<Long> compacted = shardRouter.scatter(changeRepository::compactedSeq);
+        for (int shard = 0; shard < compacted.size(); shard++) {
+            ChangeCursor cursor = token.cursor(shard);
+            // A client that has nothing from a shard yet cannot have missed its deletes
+            if (!cursor.equals(ChangeCursor.START) && cursor.changeSeq() < compacted.get(shard)) {
+                throw new ChangesExpiredException("Changes since this token are no longer available; sync again without since");
+            }
+        }
+        return new ChangeRequest(token, pageSize);
+    }
+
+    /**
+     * Writes up to the request's limit of changes as {@code {"changes": [...], "next": ..., "hasMore": ...}}
+     * and returns the token to continue from. Shards are read in turn, each in its own order.
+     */
+    public ChangeToken writeJson(ChangeRequest request, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        ChangeToken next = request.since();
+        int remaining = request.limit();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("changes");
+            for (int shard = 0; shard < shardRouter.queriedShardCount(); shard++) {
+                ChangeCursor cursor = next.cursor(shard);
+                if (remaining > 0) {
+                    ChangeCursor from = cursor;
+                    int pageLimit = remaining;
+                    List<EmployeeChange> changes = shardRouter.onShard(shard, () -> changeRepository.findAfter(from, pageLimit));
+                    for (EmployeeChange change : changes) {
+                        writeChange(generator, change);
+                        cursor = change.position();
+                    }
+                    remaining -= changes.size();
+                }
+                next = next.with(shard, cursor);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("next", next.encode());
+            // A full page may have been the last one; the next request then comes back empty
+            generator.writeBooleanField("hasMore", remaining == 0);
+            generator.writeEndObject();
+        }
+        logger.info("Wrote {} changes in {} ms", request.limit() - remaining, (System.nanoTime() - start) / 1_000_000);
+        return next;
+    }
+
+    /** Removes tombstones past the retention on every shard and returns how many were removed. */
+    public int compact() {
+        return compact(Instant.now().minus(tombstoneRetention));
+    }
+
+    public int compact(Instant cutoff) {
+        int removed = shardRouter.scatter(() -> changeRepository.compactTombstones(cutoff)).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        if (removed > 0) {
+            logger.info("Compacted {} tombstones of deletes before {}", removed, cutoff);
+        }
+        return removed;
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            // Runs again at the next interval; a failure here must not cancel the schedule
+            logger.warn("Tombstone compaction failed", e);
+        }
+    }
+
+    private static void writeChange(JsonGenerator generator, EmployeeChange change) throws IOException {
+        generator.writeStartObject();
+        if (change.deleted()) {
+            generator.writeStringField("type", "DELETE");
+            generator.writeNumberField("empId", change.position().empId());
+        } else {
+            generator.writeStringField("type", "UPSERT");
+            generator.writeObjectField("employee", change.employee());
+        }
+        generator.writeEndObject();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    public record ChangeRequest(ChangeToken since, int limit) {
+    }
+}
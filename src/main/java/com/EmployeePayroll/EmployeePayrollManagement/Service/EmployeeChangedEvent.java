@@ -0,0 +1,24 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by {@link EmployeeService} after every employee mutation so in-memory
+ * read models (search index, ...) can be updated incrementally.
+ * {@code before} is null for creates, {@code after} is null for deletes.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final ChangeType type;
+    private final Long empId;
+    private final EmployeeDTO before;
+    private final EmployeeDTO after;
+}
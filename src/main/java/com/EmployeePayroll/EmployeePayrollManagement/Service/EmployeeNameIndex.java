@@ -0,0 +1,623 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeSearchHit;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index over {@code Employee.name} used by the search endpoint.
+ *
+ * Names are split into lower-case tokens. Every distinct token has a posting list of
+ * document slots (a growable {@code int[]}, sorted because slots are handed out in order),
+ * a sorted token map answers prefix queries and a trigram map over the token vocabulary
+ * finds candidates for typo-tolerant matching, which are then verified with a bounded
+ * edit distance. Updates and deletes tombstone the old slot; tombstoned slots are
+ * dropped when the index compacts itself.
+ */
+@Component
+public class EmployeeNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+    static final float EXACT_SCORE = 3.0f;
+    static final float PREFIX_SCORE = 2.0f;
+    static final float FUZZY_SCORE = 1.0f;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 512;
+    private static final int MIN_SLOTS_BEFORE_COMPACTION = 10_000;
+    private static final long NO_PAIR = Long.MIN_VALUE;
+
+    private final EmployeeService employeeService;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment(1024);
+    // Set while a rebuild reads the table; null marks a removal
+    private Map<Long, IndexedName> changedDuringRebuild;
+
+    public EmployeeNameIndex(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Requests are already served while the table is read, so changes made meanwhile are
+     * recorded and replayed onto the rebuilt segment instead of being lost with the old one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildOnStartup() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            rebuild(employeeService.getAllEmployees());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.ChangeType.DELETED) {
+            remove(event.getEmpId());
+        } else {
+            EmployeeDTO after = event.getAfter();
+            upsert(after.getEmpId(), after.getName(), after.getDepartment());
+        }
+    }
+
+    public void rebuild(Collection<Employee> employees) {
+        long start = System.nanoTime();
+        Segment fresh = new Segment(Math.max(1024, employees.size()));
+        for (Employee employee : employees) {
+            fresh.add(employee.getEmpId(), employee.getName(), employee.getDepartment());
+        }
+        lock.writeLock().lock();
+        try {
+            segment = fresh;
+            if (changedDuringRebuild != null && !changedDuringRebuild.isEmpty()) {
+                changedDuringRebuild.forEach((empId, indexed) -> {
+                    if (indexed == null) {
+                        tombstone(empId);
+                    } else {
+                        index(empId, indexed.name(), indexed.department());
+                    }
+                });
+                logger.debug("Replayed {} employee changes made during the name index rebuild", changedDuringRebuild.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Employee name index rebuilt with {} employees in {} ms",
+                employees.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void upsert(Long empId, String name, String department) {
+        if (empId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(empId, new IndexedName(name, department));
+            }
+            index(empId, name, department);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long empId) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(empId, null);
+            }
+            tombstone(empId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void index(Long empId, String name, String department) {
+        Integer slot = segment.slotByEmpId.get(empId);
+        if (slot != null && Objects.equals(segment.names[slot], name)) {
+            segment.departments[slot] = department;
+            return;
+        }
+        if (slot != null) {
+            segment.tombstone(slot);
+        }
+        segment.add(empId, name, department);
+        compactIfNeeded();
+    }
+
+    // Callers hold the write lock
+    private void tombstone(Long empId) {
+        Integer slot = segment.slotByEmpId.get(empId);
+        if (slot != null) {
+            segment.tombstone(slot);
+            compactIfNeeded();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.slotByEmpId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every query token must match a name token exactly or by prefix. When {@code fuzzy} is
+     * set, a query token that matches nothing that way may instead match within one edit
+     * (tokens up to five characters) or two edits (longer tokens).
+     * Results are ordered by score; equal scores keep index order (shorter matching
+     * token first, then the employee indexed first).
+     *
+     * The query token with the shortest posting lists drives the scan and the other query
+     * tokens are checked against the candidate's own token ids. Because driving tokens are
+     * visited in ranking order, the scan stops as soon as no remaining candidate can
+     * enter the top results, so broad prefixes do not cost more than narrow ones.
+     */
+    public List<EmployeeSearchHit> search(String query, String department, int limit, boolean fuzzy) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Segment s = segment;
+            TokenMatches[] matches = new TokenMatches[queryTokens.length];
+            int driver = 0;
+            long driverCost = Long.MAX_VALUE;
+            for (int q = 0; q < queryTokens.length; q++) {
+                matches[q] = s.matchTokens(queryTokens[q], fuzzy);
+                if (matches[q].size() == 0) {
+                    return Collections.emptyList();
+                }
+                long cost = matches[q].postingCost(s);
+                if (cost < driverCost) {
+                    driverCost = cost;
+                    driver = q;
+                }
+            }
+            float otherTokensMax = 0;
+            for (int q = 0; q < matches.length; q++) {
+                if (q != driver) {
+                    otherTokensMax += matches[q].maxScore();
+                }
+            }
+
+            TokenMatches driving = matches[driver];
+            int[] visitOrder = driving.visitOrder(s);
+            int[] rank = new int[visitOrder.length];
+            for (int o = 0; o < visitOrder.length; o++) {
+                rank[visitOrder[o]] = o;
+            }
+            int[] one = new int[1];
+            int[] two = new int[2];
+            int[] top = new int[limit];
+            float[] topScores = new float[limit];
+            int topSize = 0;
+            scan:
+            for (int o = 0; o < visitOrder.length; o++) {
+                int drivingIndex = visitOrder[o];
+                int drivingToken = driving.tokenIds[drivingIndex];
+                float drivingScore = driving.scores[drivingIndex];
+                IntList posting = s.postings.get(drivingToken);
+                for (int i = 0; i < posting.size(); i++) {
+                    if (topSize == limit && topScores[limit - 1] >= drivingScore + otherTokensMax) {
+                        break scan;
+                    }
+                    int slot = posting.get(i);
+                    if (!s.live.get(slot)
+                            || (department != null && !department.equalsIgnoreCase(s.departments[slot]))) {
+                        continue;
+                    }
+                    int[] slotTokens = s.tokensOf(slot, one, two);
+                    if (visitedEarlier(slotTokens, drivingToken, o, driving, rank)) {
+                        continue;
+                    }
+                    float score = drivingScore;
+                    for (int q = 0; q < matches.length && score >= 0; q++) {
+                        if (q != driver) {
+                            float best = matches[q].best(slotTokens);
+                            score = best < 0 ? -1 : score + best;
+                        }
+                    }
+                    if (score < 0) {
+                        continue;
+                    }
+                    // Insert into the small top-k arrays; ties stay behind earlier entries
+                    int position = topSize;
+                    while (position > 0 && score > topScores[position - 1]) {
+                        position--;
+                    }
+                    if (position == limit) {
+                        continue;
+                    }
+                    int moved = Math.min(topSize, limit - 1) - position;
+                    System.arraycopy(top, position, top, position + 1, moved);
+                    System.arraycopy(topScores, position, topScores, position + 1, moved);
+                    top[position] = slot;
+                    topScores[position] = score;
+                    topSize = Math.min(topSize + 1, limit);
+                }
+            }
+
+            List<EmployeeSearchHit> hits = new ArrayList<>(topSize);
+            for (int i = 0; i < topSize; i++) {
+                int slot = top[i];
+                hits.add(new EmployeeSearchHit(s.empIds[slot], s.names[slot], s.departments[slot],
+                        Math.round(topScores[i] * 1000) / 1000.0));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** A slot sits in several driving postings when more than one of its tokens matches; score it once. */
+    private static boolean visitedEarlier(int[] slotTokens, int drivingToken, int order,
+                                          TokenMatches driving, int[] rank) {
+        for (int tokenId : slotTokens) {
+            if (tokenId != drivingToken && driving.members.get(tokenId)
+                    && rank[Arrays.binarySearch(driving.tokenIds, tokenId)] < order) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void compactIfNeeded() {
+        Segment s = segment;
+        int dead = s.slotCount - s.slotByEmpId.size();
+        if (s.slotCount >= MIN_SLOTS_BEFORE_COMPACTION && dead > s.slotByEmpId.size()) {
+            Segment fresh = new Segment(Math.max(1024, s.slotByEmpId.size()));
+            for (int slot = s.live.nextSetBit(0); slot >= 0; slot = s.live.nextSetBit(slot + 1)) {
+                fresh.add(s.empIds[slot], s.names[slot], s.departments[slot]);
+            }
+            segment = fresh;
+            logger.debug("Employee name index compacted, dropped {} tombstoned slots", dead);
+        }
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>(3);
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    static String[] trigrams(String token) {
+        String padded = "^" + token + "$";
+        String[] grams = new String[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = padded.substring(i, i + 3);
+        }
+        return grams;
+    }
+
+    /** Levenshtein distance, or {@code max + 1} as soon as it is known to exceed {@code max}. */
+    static int boundedEditDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /** Matched vocabulary tokens for one query token, as sorted primitive arrays for allocation-free lookups. */
+    static final class TokenMatches {
+        final int[] tokenIds;
+        final float[] scores;
+        // Cheap membership pre-check, most candidates fail it before any binary search
+        final BitSet members = new BitSet();
+
+        TokenMatches(Map<Integer, Float> matchedTokens) {
+            tokenIds = new int[matchedTokens.size()];
+            int i = 0;
+            for (Integer tokenId : matchedTokens.keySet()) {
+                tokenIds[i++] = tokenId;
+                members.set(tokenId);
+            }
+            Arrays.sort(tokenIds);
+            scores = new float[tokenIds.length];
+            for (i = 0; i < tokenIds.length; i++) {
+                scores[i] = matchedTokens.get(tokenIds[i]);
+            }
+        }
+
+        int size() {
+            return tokenIds.length;
+        }
+
+        float maxScore() {
+            float max = 0;
+            for (float score : scores) {
+                max = Math.max(max, score);
+            }
+            return max;
+        }
+
+        long postingCost(Segment segment) {
+            long cost = 0;
+            for (int tokenId : tokenIds) {
+                cost += segment.postings.get(tokenId).size();
+            }
+            return cost;
+        }
+
+        /** Indexes into {@link #tokenIds} in scan order: best score, then shorter token, then lower token id. */
+        int[] visitOrder(Segment segment) {
+            return java.util.stream.IntStream.range(0, tokenIds.length).boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(i -> -scores[i])
+                            .thenComparingInt(i -> segment.tokens.get(tokenIds[i]).length())
+                            .thenComparingInt(i -> tokenIds[i]))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+
+        /** Best score among the given name tokens, or -1 when none of them matches. */
+        float best(int[] nameTokens) {
+            float best = -1;
+            for (int tokenId : nameTokens) {
+                if (members.get(tokenId)) {
+                    best = Math.max(best, scores[Arrays.binarySearch(tokenIds, tokenId)]);
+                }
+            }
+            return best;
+        }
+
+    }
+
+    /** Growable primitive int list used for posting lists. */
+    static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+    }
+
+    private record IndexedName(String name, String department) {
+    }
+
+    /** One generation of the index; replaced wholesale on rebuild and compaction. */
+    private static final class Segment {
+        long[] empIds;
+        String[] names;
+        String[] departments;
+        int[] nameLengths;
+        // Token ids of each slot: two packed per long (-1 when absent, NO_PAIR when the name
+        // has more than two tokens and they live in longNameTokens), so the hot loop reads
+        // one primitive array instead of chasing an int[] per slot
+        long[] tokenPairs;
+        final Map<Integer, int[]> longNameTokens = new HashMap<>();
+        final BitSet live = new BitSet();
+        int slotCount;
+        final Map<Long, Integer> slotByEmpId = new HashMap<>();
+
+        final Map<String, Integer> tokenIds = new HashMap<>();
+        final List<String> tokens = new ArrayList<>();
+        final List<IntList> postings = new ArrayList<>();
+        final TreeMap<String, Integer> sortedTokens = new TreeMap<>();
+        final Map<String, IntList> tokensByTrigram = new HashMap<>();
+
+        Segment(int capacity) {
+            empIds = new long[capacity];
+            names = new String[capacity];
+            departments = new String[capacity];
+            nameLengths = new int[capacity];
+            tokenPairs = new long[capacity];
+        }
+
+        void add(Long empId, String name, String department) {
+            if (slotCount == empIds.length) {
+                int capacity = slotCount * 2;
+                empIds = Arrays.copyOf(empIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                departments = Arrays.copyOf(departments, capacity);
+                nameLengths = Arrays.copyOf(nameLengths, capacity);
+                tokenPairs = Arrays.copyOf(tokenPairs, capacity);
+            }
+            int slot = slotCount++;
+            empIds[slot] = empId;
+            names[slot] = name == null ? "" : name;
+            nameLengths[slot] = names[slot].length();
+            departments[slot] = department;
+            live.set(slot);
+            slotByEmpId.put(empId, slot);
+
+            String[] nameTokens = tokenize(name);
+            int[] ids = new int[nameTokens.length];
+            int distinct = 0;
+            for (String token : nameTokens) {
+                int id = tokenId(token);
+                boolean seen = false;
+                for (int i = 0; i < distinct && !seen; i++) {
+                    seen = ids[i] == id;
+                }
+                if (!seen) {
+                    ids[distinct++] = id;
+                    postings.get(id).add(slot);
+                }
+            }
+            if (distinct > 2) {
+                tokenPairs[slot] = NO_PAIR;
+                longNameTokens.put(slot, Arrays.copyOf(ids, distinct));
+            } else {
+                int first = distinct > 0 ? ids[0] : -1;
+                int second = distinct > 1 ? ids[1] : -1;
+                tokenPairs[slot] = ((long) first << 32) | (second & 0xFFFFFFFFL);
+            }
+        }
+
+        void tombstone(int slot) {
+            live.clear(slot);
+            slotByEmpId.remove(empIds[slot]);
+            longNameTokens.remove(slot);
+        }
+
+        /** Token ids of a slot, using the caller's scratch arrays for the common one/two token names. */
+        int[] tokensOf(int slot, int[] one, int[] two) {
+            long pair = tokenPairs[slot];
+            if (pair == NO_PAIR) {
+                return longNameTokens.get(slot);
+            }
+            int first = (int) (pair >>> 32);
+            int second = (int) pair;
+            if (first < 0) {
+                return new int[0];
+            }
+            if (second < 0) {
+                one[0] = first;
+                return one;
+            }
+            two[0] = first;
+            two[1] = second;
+            return two;
+        }
+
+        private int tokenId(String token) {
+            Integer id = tokenIds.get(token);
+            if (id != null) {
+                return id;
+            }
+            int newId = tokens.size();
+            tokens.add(token);
+            postings.add(new IntList());
+            tokenIds.put(token, newId);
+            sortedTokens.put(token, newId);
+            for (String gram : new HashSet<>(Arrays.asList(trigrams(token)))) {
+                tokensByTrigram.computeIfAbsent(gram, g -> new IntList()).add(newId);
+            }
+            return newId;
+        }
+
+        /** Vocabulary tokens matching one query token, with the score of the match. */
+        TokenMatches matchTokens(String queryToken, boolean fuzzy) {
+            Map<Integer, Float> matchedTokens = new HashMap<>();
+            Integer exact = tokenIds.get(queryToken);
+            if (exact != null) {
+                matchedTokens.put(exact, EXACT_SCORE);
+            }
+            // Keep the best completions rather than the first ones in lexicographic order:
+            // the head of the heap is the weakest of the completions kept so far
+            PriorityQueue<Integer> completions = new PriorityQueue<>(prefixRanking(queryToken).reversed());
+            for (Integer tokenId
+                    : sortedTokens.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false).values()) {
+                completions.add(tokenId);
+                if (completions.size() > MAX_PREFIX_EXPANSIONS) {
+                    completions.poll();
+                }
+            }
+            for (Integer tokenId : completions) {
+                matchedTokens.merge(tokenId, prefixScore(queryToken, tokens.get(tokenId)), Math::max);
+            }
+            // Typo tolerance is a fallback for tokens that match nothing exactly or by prefix
+            if (fuzzy && matchedTokens.isEmpty() && queryToken.length() >= 3) {
+                addFuzzyMatches(queryToken, matchedTokens);
+            }
+            return new TokenMatches(matchedTokens);
+        }
+
+        /** Best completion first: higher prefix score, then more employees, then lower token id. */
+        private Comparator<Integer> prefixRanking(String queryToken) {
+            return Comparator.<Integer>comparingDouble(id -> -prefixScore(queryToken, tokens.get(id)))
+                    .thenComparingInt(id -> -postings.get(id).size())
+                    .thenComparingInt(id -> id);
+        }
+
+        /** Shorter completions rank above longer ones. */
+        private static float prefixScore(String queryToken, String token) {
+            return PREFIX_SCORE - Math.min(0.5f, 0.05f * (token.length() - queryToken.length()));
+        }
+
+        private void addFuzzyMatches(String queryToken, Map<Integer, Float> matchedTokens) {
+            int maxEdits = queryToken.length() <= 5 ? 1 : 2;
+            String[] grams = trigrams(queryToken);
+            Map<Integer, Integer> sharedGrams = new HashMap<>();
+            for (String gram : new HashSet<>(Arrays.asList(grams))) {
+                IntList tokensWithGram = tokensByTrigram.get(gram);
+                if (tokensWithGram == null) {
+                    continue;
+                }
+                for (int i = 0; i < tokensWithGram.size(); i++) {
+                    sharedGrams.merge(tokensWithGram.get(i), 1, Integer::sum);
+                }
+            }
+            // Each edit can destroy at most three trigrams
+            int minShared = Math.max(1, grams.length - 3 * maxEdits);
+            for (Map.Entry<Integer, Integer> entry : sharedGrams.entrySet()) {
+                if (entry.getValue() < minShared) {
+                    continue;
+                }
+                int distance = boundedEditDistance(queryToken, tokens.get(entry.getKey()), maxEdits);
+                if (distance > 0 && distance <= maxEdits) {
+                    matchedTokens.merge(entry.getKey(), FUZZY_SCORE - 0.25f * (distance - 1), Math::max);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeQuery;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeField;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeQueryPlan;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeQueryRepository;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Answers {@code GET /api/employees/query} by streaming rows straight from the database
+ * into the JSON response, without building entities or DTOs.
+ *
+ * Each shard returns its rows already sorted, so the shards are combined with a k-way merge
+ * that only holds one row per shard in memory. String sort keys are merged case-insensitively
+ * to match MySQL's default collation.
+ */
+@Service
+public class EmployeeQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeQueryService.class);
+
+    private final EmployeeQueryRepository employeeQueryRepository;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeQueryService(EmployeeQueryRepository employeeQueryRepository, ShardRouter shardRouter,
+                                ObjectMapper objectMapper) {
+        this.employeeQueryRepository = employeeQueryRepository;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Validates the query; call before the response is committed so errors still become a 400. */
+    public EmployeeQueryPlan plan(EmployeeQuery query) {
+        return EmployeeQueryPlan.of(query);
+    }
+
+    /** Writes the matching employees as a JSON array and returns how many were written. */
+    public long writeJson(EmployeeQueryPlan plan, OutputStream out) throws IOException {
+        // A failure half-way must leave the array unterminated rather than look like a complete result
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            generator.writeStartArray();
+            long written = forEachRow(plan, row -> writeRow(generator, plan.returned(), row));
+            generator.writeEndArray();
+            return written;
+        }
+    }
+
+    /**
+     * Hands every matching row to the handler, in plan order, and returns how many there were.
+     * A row holds each selected value at its {@link EmployeeField}'s ordinal.
+     */
+    public long forEachRow(EmployeeQueryPlan plan, RowHandler handler) throws IOException {
+        long start = System.nanoTime();
+        List<Stream<Object[]>> streams = new ArrayList<>();
+        try {
+            for (int shard = 0; shard < shardRouter.queriedShardCount(); shard++) {
+                streams.add(shardRouter.onShard(shard, () -> employeeQueryRepository.stream(plan)));
+            }
+            long handled = 0;
+            long lastEmpId = Long.MIN_VALUE;
+            Iterator<Object[]> rows = merge(streams, comparator(plan));
+            while (rows.hasNext() && (plan.limit() == null || handled < plan.limit())) {
+                Object[] row = rows.next();
+                long empId = (Long) row[EmployeeField.EMP_ID.ordinal()];
+                if (empId == lastEmpId) {
+                    continue; // the same row seen on both shards of a rebalance
+                }
+                lastEmpId = empId;
+                handler.handle(row);
+                handled++;
+            }
+            logger.info("Streamed {} employees for query {} in {} ms", handled, plan.filter(), (System.nanoTime() - start) / 1_000_000);
+            return handled;
+        } finally {
+            streams.forEach(Stream::close);
+        }
+    }
+
+    /** Writes the given fields of a row as one JSON object, in the same shape as {@code EmployeeDTO}. */
+    public static void writeRow(JsonGenerator generator, Set<EmployeeField> fields, Object[] row) throws IOException {
+        generator.writeStartObject();
+        writeFields(generator, fields, row);
+        generator.writeEndObject();
+    }
+
+    public static void writeFields(JsonGenerator generator, Set<EmployeeField> fields, Object[] row) throws IOException {
+        for (EmployeeField field : fields) {
+            Object value = row[field.ordinal()];
+            generator.writeFieldName(field.property());
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Long number) {
+                generator.writeNumber(number);
+            } else if (value instanceof Money money) {
+                generator.writeNumber(money.toBigDecimal());
+            } else if (value instanceof LocalDate date) {
+                generator.writeString(date.toString());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(Object[] row) throws IOException;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Object[]> comparator(EmployeeQueryPlan plan) {
+        int sortIndex = plan.sortField().ordinal();
+        Comparator<Object> values = (a, b) -> a instanceof String left && b instanceof String right
+                ? String.CASE_INSENSITIVE_ORDER.compare(left, right)
+                : ((Comparable) a).compareTo(b);
+        // NULLs sort lowest, as in MySQL
+        Comparator<Object[]> bySortField = Comparator.comparing(row -> row[sortIndex], Comparator.nullsFirst(values));
+        if (plan.descending()) {
+            bySortField = bySortField.reversed();
+        }
+        return bySortField.thenComparing(row -> (Long) row[EmployeeField.EMP_ID.ordinal()]);
+    }
+
+    private static Iterator<Object[]> merge(List<Stream<Object[]>> streams, Comparator<Object[]> comparator) {
+        if (streams.size() == 1) {
+            return streams.get(0).iterator();
+        }
+        List<Iterator<Object[]>> sources = streams.stream().map(Stream::iterator).toList();
+        PriorityQueue<Map.Entry<Object[], Integer>> heads = new PriorityQueue<>(Map.Entry.comparingByKey(comparator));
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).hasNext()) {
+                heads.add(Map.entry(sources.get(i).next(), i));
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Object[] next() {
+                Map.Entry<Object[], Integer> head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                Iterator<Object[]> source = sources.get(head.getValue());
+                if (source.hasNext()) {
+                    heads.add(Map.entry(source.next(), head.getValue()));
+                }
+                return head.getKey();
+            }
+        };
+    }
+}
@@ -1,16 +1,30 @@
 package com.EmployeePayroll.EmployeePayrollManagement.Service;
 
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
 import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
 import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Mapper.EmployeeMapper;
 import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository.DepartmentMember;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository.DesignationTotals;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository.SalaryTotals;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionary;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeChangedEvent.ChangeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,38 +33,41 @@ public class EmployeeService {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class); // Creating the logger
 
     private final EmployeeRepository employeeRepository;
-    private final Map<String, Double> baseSalaryMap = new HashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final ReferenceDictionaries referenceDictionaries;
+    private final Map<String, Money> baseSalaryMap = PayrollRules.baseSalaries();
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, ApplicationEventPublisher eventPublisher,
+                           ShardRouter shardRouter, ReferenceDictionaries referenceDictionaries) {
         this.employeeRepository = employeeRepository;
-
-        // Base salary initialization with proper validation
-        baseSalaryMap.put("Manager", 30000.00);
-        baseSalaryMap.put("HR", 20000.00);
-        baseSalaryMap.put("JuniorEngineer", 15000.00);
-        baseSalaryMap.put("SeniorEngineer", 30000.00);
-        baseSalaryMap.put("Tester", 25000.00);
-        baseSalaryMap.put("Analyst", 25000.00);
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.referenceDictionaries = referenceDictionaries;
     }
 
     public Employee createEmployee(Employee employee) {
         logger.info("Creating a new employee: {}", employee.getName());
-        Employee createdEmployee = employeeRepository.save(employee);
+        registerReferenceNames(employee);
+        Employee createdEmployee = shardRouter.onShard(shardRouter.shardForNewEmployee(),
+                () -> employeeRepository.save(employee));
         logger.info("Employee created with ID: {}", createdEmployee.getEmpId());
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, createdEmployee.getEmpId(),
+                null, EmployeeMapper.toDTO(createdEmployee)));
         return createdEmployee;
     }
 
     public List<Employee> getAllEmployees() {
         logger.info("Fetching all employees...");
-        List<Employee> employees = employeeRepository.findAll();
+        List<Employee> employees = findAllEmployees();
         logger.info("Found {} employees.", employees.size());
         return employees;
     }
 
     public Optional<Employee> getEmployeeById(Long empId) {
         logger.info("Fetching employee with ID: {}", empId);
-        return Optional.ofNullable(employeeRepository.findById(empId)
+        return Optional.ofNullable(shardRouter.onEmployeeShard(empId, () -> employeeRepository.findById(empId))
                 .orElseThrow(() -> {
                     logger.error("Employee with ID {} not found.", empId);
                     return new EmployeeNotFoundException("Employee with ID " + empId + " not found");
@@ -59,16 +76,22 @@ public class EmployeeService {
 
     public Optional<Employee> updateEmployee(Long id, Employee updatedEmployeeDetails) {
         logger.info("Updating employee with ID: {}", id);
-        return Optional.ofNullable(employeeRepository.findById(id)
+        // The save has to run on the shard the row was found on
+        return Optional.ofNullable(shardRouter.onEmployeeShard(id, () -> employeeRepository.findById(id)
                 .map(employee -> {
+                    EmployeeDTO before = EmployeeMapper.toDTO(employee);
                     employee.setName(updatedEmployeeDetails.getName());
                     employee.setSalary(updatedEmployeeDetails.getSalary());
                     employee.setDepartment(updatedEmployeeDetails.getDepartment());
                     employee.setDesignation(updatedEmployeeDetails.getDesignation());
                     employee.setEmploymentType(updatedEmployeeDetails.getEmploymentType());
+                    registerReferenceNames(employee);
                     logger.info("Employee updated with ID: {}", id);
-                    return employeeRepository.save(employee);
-                })
+                    Employee savedEmployee = employeeRepository.save(employee);
+                    eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, id,
+                            before, EmployeeMapper.toDTO(savedEmployee)));
+                    return savedEmployee;
+                }))
                 .orElseThrow(() -> {
                     logger.error("Employee with ID {} not found for update.", id);
                     return new EmployeeNotFoundException("Employee with ID " + id + " not found");
@@ -77,51 +100,93 @@ public class EmployeeService {
 
     public ResponseEntity<Void> deleteEmployee(Long id) {
         logger.info("Deleting employee with ID: {}", id);
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = shardRouter.onEmployeeShard(id, () -> employeeRepository.findById(id)
+                .map(found -> {
+                    employeeRepository.deleteById(id);
+                    return found;
+                }))
                 .orElseThrow(() -> {
                     logger.error("Employee with ID {} not found for deletion.", id);
                     return new EmployeeNotFoundException("Employee with ID " + id + " not found");
                 });
-        employeeRepository.deleteById(id);
         logger.info("Employee with ID {} successfully deleted.", id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.DELETED, id, EmployeeMapper.toDTO(employee), null));
         return ResponseEntity.noContent().build();
     }
 
     //TASK 4: Calculate total payroll
-    public double calculateTotalPayroll() {
+    public Money calculateTotalPayroll() {
         logger.info("Calculating total payroll...");
-        List<Employee> employees = employeeRepository.findAll();
-        double totalPayroll = 0.0;
-
-        for (Employee employee : employees) {
-            String role = employee.getDesignation();
-            Double baseSalary = baseSalaryMap.get(role);
-            if (baseSalary != null) {
-                double salaryWithBonuses = baseSalary + employee.getSalary();
-                totalPayroll += salaryWithBonuses;
-            } else {
-                logger.error("Base salary not found for role: {}", role);
-                throw new EmployeeNotFoundException("Salary base not found for role: " + role);
+        // Summed as long minor units; addExact throws instead of silently wrapping
+        long totalMinorUnits = 0;
+        if (shardRouter.isRebalancing()) {
+            // Rows being moved can be on two shards at once, so sum the de-duplicated rows instead
+            for (Employee employee : findAllEmployees()) {
+                long salaryWithBonuses = Math.addExact(baseSalaryFor(employee.getDesignation()).minorUnits(),
+                        employee.getSalary().minorUnits());
+                totalMinorUnits = Math.addExact(totalMinorUnits, salaryWithBonuses);
+            }
+        } else {
+            // Every shard sums its salaries per designation in the database; the base salary is added per head here
+            Map<Short, long[]> totalsByDesignationId = new HashMap<>();
+            for (List<DesignationTotals> shardTotals : shardRouter.scatter(employeeRepository::salaryTotalsByDesignationId)) {
+                for (DesignationTotals totals : shardTotals) {
+                    Short designationId = totals.getDesignationId() == null ? null : totals.getDesignationId().shortValue();
+                    long[] merged = totalsByDesignationId.computeIfAbsent(designationId, key -> new long[2]);
+                    merged[0] = Math.addExact(merged[0], totals.getTotalMinor().longValueExact());
+                    merged[1] += totals.getHeadcount();
+                }
+            }
+            for (Map.Entry<Short, long[]> totals : totalsByDesignationId.entrySet()) {
+                Money baseSalary = baseSalaryFor(referenceDictionaries.designations().nameOf(totals.getKey()));
+                long basePay = Math.multiplyExact(baseSalary.minorUnits(), totals.getValue()[1]);
+                totalMinorUnits = Math.addExact(totalMinorUnits, Math.addExact(basePay, totals.getValue()[0]));
             }
         }
+        Money totalPayroll = Money.ofMinor(totalMinorUnits);
 
         logger.info("Total payroll calculated: {}", totalPayroll);
         return totalPayroll;
     }
 
+    private Money baseSalaryFor(String role) {
+        Money baseSalary = baseSalaryMap.get(role);
+        if (baseSalary == null) {
+            logger.error("Base salary not found for role: {}", role);
+            throw new EmployeeNotFoundException("Salary base not found for role: " + role);
+        }
+        return baseSalary;
+    }
+
     //TASK 5: Calculate average salary by department
-    public double calculateAverageSalaryByDepartment(String departmentName) {
+    public Money calculateAverageSalaryByDepartment(String departmentName) {
         logger.info("Calculating average salary for department: {}", departmentName);
-        List<Employee> employees = employeeRepository.findAll()
-                .stream().filter(employee -> employee.getDepartment().equals(departmentName))
-                .collect(Collectors.toList());
+        // Every shard sums its own rows in the database; the exact totals and counts are then combined
+        long totalMinorUnits = 0;
+        long headcount = 0;
+        if (shardRouter.isRebalancing()) {
+            // Rows being moved can be on two shards at once, so count the de-duplicated rows instead
+            for (Employee employee : gatherEmployees(employee -> departmentName.equalsIgnoreCase(employee.getDepartment()))) {
+                totalMinorUnits = Math.addExact(totalMinorUnits, employee.getSalary().minorUnits());
+                headcount++;
+            }
+        } else {
+            // Same case-insensitive match as the department filter; the shards only compare keys
+            Optional<Short> departmentId = referenceDictionaries.departments().findId(departmentName);
+            if (departmentId.isPresent()) {
+                for (SalaryTotals totals : shardRouter.scatter(() -> employeeRepository.salaryTotalsByDepartmentId(departmentId.get()))) {
+                    totalMinorUnits = Math.addExact(totalMinorUnits, totals.getTotalMinor().longValueExact());
+                    headcount += totals.getHeadcount();
+                }
+            }
+        }
 
-        if (employees.isEmpty()) {
+        if (headcount == 0) {
             logger.error("No employees found in department: {}", departmentName);
             throw new EmployeeNotFoundException("No Employee Present in this Department");
         }
 
-        double avgSalary = employees.stream().mapToDouble(Employee::getSalary).average().orElse(0.0);
+        Money avgSalary = Money.average(totalMinorUnits, headcount);
         logger.info("Average salary for department {}: {}", departmentName, avgSalary);
         return avgSalary;
     }
@@ -129,9 +194,24 @@ public class EmployeeService {
     //TASK 6: Get employees grouped by department
     public Map<String, List<String>> getEmployeesGroupedByDepartment() {
         logger.info("Grouping employees by department...");
-        Map<String, List<String>> employeesGrouped = employeeRepository.findAll()
-                .stream().collect(Collectors.groupingBy(Employee::getDepartment,
-                        Collectors.mapping(Employee::getName, Collectors.toList())));
+        Map<String, List<String>> employeesGrouped = new HashMap<>();
+        if (shardRouter.isRebalancing()) {
+            scatterGather(employees -> employees.stream().collect(Collectors.groupingBy(Employee::getDepartment,
+                    Collectors.mapping(Employee::getName, Collectors.toList()))))
+                    .forEach(partial -> partial.forEach((department, names) ->
+                            employeesGrouped.computeIfAbsent(department, key -> new ArrayList<>()).addAll(names)));
+        } else {
+            // Grouped on the department key, which is the same on every shard; names are joined in once per group
+            Map<Short, List<String>> namesByDepartmentId = new HashMap<>();
+            for (List<DepartmentMember> members : shardRouter.scatter(employeeRepository::findDepartmentMembers)) {
+                for (DepartmentMember member : members) {
+                    Short departmentId = member.getDepartmentId() == null ? null : member.getDepartmentId().shortValue();
+                    namesByDepartmentId.computeIfAbsent(departmentId, key -> new ArrayList<>()).add(member.getName());
+                }
+            }
+            namesByDepartmentId.forEach((departmentId, names) ->
+                    employeesGrouped.put(referenceDictionaries.departments().nameOf(departmentId), names));
+        }
 
         if (employeesGrouped.isEmpty()) {
             logger.error("No employees found to group by department.");
@@ -145,8 +225,12 @@ public class EmployeeService {
     //TASK 7: Get top N highest-paid employees
     public List<Employee> getTopNHighestPaidEmployees(int n) {
         logger.info("Fetching top {} highest-paid employees...", n);
-        List<Employee> topEmployees = employeeRepository.findAll().stream()
-                .sorted(Comparator.comparing(Employee::getSalary, Comparator.reverseOrder()))
+        Comparator<Employee> bySalaryDesc = Comparator.comparing(Employee::getSalary, Comparator.reverseOrder())
+                .thenComparing(Employee::getEmpId);
+        // Every shard sends only its own top n, the merge keeps the global top n of those
+        List<Employee> topEmployees = scatterFind(() -> employeeRepository.findTopBySalary(n))
+                .stream()
+                .sorted(bySalaryDesc)
                 .limit(n)
                 .collect(Collectors.toList());
         logger.info("Top {} highest-paid employees fetched.", n);
@@ -156,30 +240,37 @@ public class EmployeeService {
     //TASK 8: Calculate payroll by job title (designation)
     public Map<String, Object> calculatePayrollByJobTitle(String jobTitle) {
         logger.info("Calculating payroll by job title: {}", jobTitle);
-        if (jobTitle == null || jobTitle.trim().isEmpty()) {
-            logger.error("Job title is empty or null.");
-            throw new IllegalArgumentException("Job title must not be null or empty.");
+        PayrollRules.requireJobTitle(jobTitle);
+
+        List<Employee> employees;
+        if (shardRouter.isRebalancing()) {
+            employees = gatherEmployees(employee -> jobTitle.equals(employee.getDesignation()));
+        } else {
+            // Names differing only in case share a key, so the title also has to be the stored spelling
+            ReferenceDictionary designations = referenceDictionaries.designations();
+            employees = designations.findId(jobTitle)
+                    .filter(designationId -> jobTitle.equals(designations.nameOf(designationId)))
+                    .map(designationId -> shardRouter.scatter(() -> employeeRepository.findByDesignationId(designationId))
+                            .stream()
+                            .flatMap(List::stream)
+                            .collect(Collectors.toList()))
+                    .orElseGet(ArrayList::new);
         }
 
-        List<Employee> employees = employeeRepository.findAll()
-                .stream()
-                .filter(employee -> employee.getDesignation().equals(jobTitle))
-                .collect(Collectors.toList());
-
         if (employees.isEmpty()) {
             logger.error("No employees found with the designation: {}", jobTitle);
             throw new EmployeeNotFoundException("No employee found with the designation: " + jobTitle);
         }
 
-        Double baseSalary = baseSalaryMap.get(jobTitle);
+        Money baseSalary = baseSalaryMap.get(jobTitle);
         if (baseSalary == null) {
             logger.error("No base salary defined for job title: {}", jobTitle);
             throw new EmployeeNotFoundException("No base salary defined for job title: " + jobTitle);
         }
 
-        double totalPayroll = employees.stream()
-                .mapToDouble(employee -> baseSalary + employee.getSalary())
-                .sum();
+        Money totalPayroll = Money.ofMinor(employees.stream()
+                .mapToLong(employee -> Math.addExact(baseSalary.minorUnits(), employee.getSalary().minorUnits()))
+                .reduce(0L, Math::addExact));
 
         Map<String, Object> result = new HashMap<>();
         result.put("Designation/JobTitle", jobTitle);
@@ -189,16 +280,17 @@ public class EmployeeService {
         return result;
     }
 
+    public Optional<Money> findBaseSalary(String jobTitle) {
+        return Optional.ofNullable(baseSalaryMap.get(jobTitle));
+    }
+
     //TASK 9: Find employees hired in the last N months
     public List<Employee> findEmployeesHiredInLastNMonths(int months) {
         logger.info("Fetching employees hired in the last {} months.", months);
         LocalDate currentDate = LocalDate.now();
         LocalDate cutoffDate = currentDate.minusMonths(months);
 
-        List<Employee> employees = employeeRepository.findAll().stream()
-                .filter(employee -> employee.getHireDate() != null)
-                .filter(employee -> employee.getHireDate().isAfter(cutoffDate))
-                .collect(Collectors.toList());
+        List<Employee> employees = scatterFind(() -> employeeRepository.findHiredAfter(cutoffDate));
 
         logger.info("Found {} employees hired in the last {} months.", employees.size(), months);
         return employees;
@@ -208,11 +300,21 @@ public class EmployeeService {
     //Extra from JML4:Filtering employee by department
     public List<String> getEmployeesByDepartment(String department){
         logger.info("Fetching employees from the department {}.",department);
-        List<Employee> employees=employeeRepository.findAll();
-        List<String> result=employees.stream()
-                .filter(employee -> employee.getDepartment().equalsIgnoreCase(department))
-                .map(Employee::getName)
-                .collect(Collectors.toList());
+        List<String> result;
+        if (shardRouter.isRebalancing()) {
+            result = gatherEmployees(employee -> employee.getDepartment().equalsIgnoreCase(department))
+                    .stream()
+                    .map(Employee::getName)
+                    .collect(Collectors.toList());
+        } else {
+            // The dictionary matches the name case-insensitively; the shards only compare keys
+            result = referenceDictionaries.departments().findId(department)
+                    .map(departmentId -> shardRouter.scatter(() -> employeeRepository.findNamesByDepartmentId(departmentId))
+                            .stream()
+                            .flatMap(List::stream)
+                            .collect(Collectors.toList()))
+                    .orElseGet(ArrayList::new);
+        }
 
         if (result.isEmpty()) {
             logger.error("No employees found in the department: {}", department);
@@ -221,4 +323,60 @@ public class EmployeeService {
         logger.info("Found {} employees from the {} department",result.size(),department);
         return result;
     }
+
+    // New names are added to the reference tables here rather than inside the save's flush,
+    // where the converters only look keys up
+    private void registerReferenceNames(Employee employee) {
+        register(referenceDictionaries.departments(), employee.getDepartment());
+        register(referenceDictionaries.designations(), employee.getDesignation());
+        register(referenceDictionaries.employmentTypes(), employee.getEmploymentType());
+    }
+
+    private static void register(ReferenceDictionary dictionary, String name) {
+        if (name != null) {
+            dictionary.idFor(name);
+        }
+    }
+
+    private List<Employee> findAllEmployees() {
+        return gatherEmployees(employee -> true);
+    }
+
+    private List<Employee> gatherEmployees(Predicate<Employee> filter) {
+        return scatterGather(employees -> employees.stream()
+                .filter(filter)
+                .collect(Collectors.toList()))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    // Computes a partial result on every shard in parallel; the caller merges the partials.
+    // While a rebalance copies rows a chunk can briefly be visible on two shards, so the
+    // partial is then computed once over the de-duplicated union instead.
+    private <T> List<T> scatterGather(Function<List<Employee>, T> partial) {
+        if (shardRouter.isRebalancing()) {
+            return Collections.singletonList(partial.apply(findAllEmployeesDuringRebalance()));
+        }
+        return shardRouter.scatter(() -> partial.apply(employeeRepository.findAll()));
+    }
+
+    // Runs a query on every shard and concatenates the rows. While a rebalance copies rows a
+    // chunk can briefly be visible on two shards, so each employee is then kept only once.
+    private List<Employee> scatterFind(Supplier<List<Employee>> query) {
+        List<List<Employee>> partials = shardRouter.scatter(query);
+        if (!shardRouter.isRebalancing()) {
+            return partials.stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+        Map<Long, Employee> byId = new LinkedHashMap<>();
+        partials.forEach(employees -> employees.forEach(employee -> byId.putIfAbsent(employee.getEmpId(), employee)));
+        return new ArrayList<>(byId.values());
+    }
+
+    private List<Employee> findAllEmployeesDuringRebalance() {
+        Map<Long, Employee> byId = new LinkedHashMap<>();
+        shardRouter.scatter(employeeRepository::findAll)
+                .forEach(employees -> employees.forEach(employee -> byId.putIfAbsent(employee.getEmpId(), employee)));
+        return new ArrayList<>(byId.values());
+    }
 }
@@ -0,0 +1,43 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Payroll rules that every API variant applies the same way: the base salary per job title and
+ * the check on job title input.
+ */
+public final class PayrollRules {
+
+    private static final Map<String, Money> BASE_SALARIES;
+
+    static {
+        // HashMap rather than Map.of so a null designation is simply not found
+        Map<String, Money> baseSalaries = new HashMap<>();
+        baseSalaries.put("Manager", Money.of("30000.00"));
+        baseSalaries.put("HR", Money.of("20000.00"));
+        baseSalaries.put("JuniorEngineer", Money.of("15000.00"));
+        baseSalaries.put("SeniorEngineer", Money.of("30000.00"));
+        baseSalaries.put("Tester", Money.of("25000.00"));
+        baseSalaries.put("Analyst", Money.of("25000.00"));
+        BASE_SALARIES = Collections.unmodifiableMap(baseSalaries);
+    }
+
+    private PayrollRules() {
+    }
+
+    /** Base salary by job title; titles without one are absent. */
+    public static Map<String, Money> baseSalaries() {
+        return BASE_SALARIES;
+    }
+
+    public static String requireJobTitle(String jobTitle) {
+        if (jobTitle == null || jobTitle.trim().isEmpty()) {
+            throw new IllegalArgumentException("Job title must not be null or empty.");
+        }
+        return jobTitle;
+    }
+}
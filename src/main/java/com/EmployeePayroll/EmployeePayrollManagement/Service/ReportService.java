@@ -0,0 +1,377 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeQuery;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.ReportJob;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.JobNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.ServiceBusyException;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeField;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeQueryPlan;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs large reports in the background so they hold neither an HTTP thread nor the heap
+ * for their whole duration.
+ *
+ * Rows come from the same streaming query as {@link EmployeeQueryService} and are spooled
+ * to a {@link ReportSpool} file as they arrive; clients then page through the file. At most
+ * {@code max-concurrent} reports run at once with {@code queue-capacity} more waiting, beyond
+ * that submissions are rejected with a 503. Finished reports are deleted after {@code ttl}.
+ *
+ * Created eagerly even with lazy initialisation, so spool files left by a previous run are
+ * deleted and the cleaner runs whether or not a report is ever requested.
+ */
+@Service
+@Lazy(false)
+public class ReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+
+    private final EmployeeQueryService employeeQueryService;
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final Path spoolDirectory;
+    private final Duration ttl;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService cleaner;
+    private final Map<String, ReportHandle> reports = new ConcurrentHashMap<>();
+
+    public ReportService(EmployeeQueryService employeeQueryService, EmployeeService employeeService, ObjectMapper objectMapper,
+                         @Value("${payroll.reports.spool-dir:${java.io.tmpdir}/payroll-reports}") Path spoolDirectory,
+                         @Value("${payroll.reports.max-concurrent:2}") int maxConcurrent,
+                         @Value("${payroll.reports.queue-capacity:8}") int queueCapacity,
+                         @Value("${payroll.reports.ttl:30m}") Duration ttl) throws IOException {
+        this.employeeQueryService = employeeQueryService;
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.spoolDirectory = Files.createDirectories(spoolDirectory);
+        this.ttl = ttl;
+        deleteSpoolFilesOfPreviousRuns();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "report-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, Math.min(ttl.toSeconds(), 60));
+        cleaner.scheduleWithFixedDelay(() -> purgeExpired(LocalDateTime.now()), period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Validates and queues a report. {@code query} filters the EMPLOYEES report, {@code jobTitle}
+     * is required by PAYROLL_BY_JOB_TITLE.
+     */
+    public ReportJob submit(ReportType type, EmployeeQuery query, String jobTitle) {
+        ReportGenerator generator;
+        String parameters;
+        switch (type) {
+            case EMPLOYEES -> {
+                EmployeeQueryPlan plan = employeeQueryService.plan(query);
+                generator = employeesReport(plan);
+                parameters = query.toString();
+            }
+            case PAYROLL_BY_JOB_TITLE -> {
+                if (jobTitle == null || jobTitle.isBlank()) {
+                    throw new IllegalArgumentException("jobTitle is required for the " + type.path() + " report");
+                }
+                Money baseSalary = employeeService.findBaseSalary(jobTitle)
+                        .orElseThrow(() -> new IllegalArgumentException("No base salary defined for job title: " + jobTitle));
+                generator = payrollByJobTitleReport(jobTitle, baseSalary);
+                parameters = "jobTitle=" + jobTitle;
+            }
+            default -> {
+                generator = departmentGroupingReport();
+                parameters = "";
+            }
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), type.path(), parameters, LocalDateTime.now());
+        ReportHandle handle = new ReportHandle(job, new ReportSpool(spoolDirectory, job.getId()));
+        reports.put(job.getId(), handle);
+        logger.info("Report {} queued: {} {}", job.getId(), type.path(), parameters);
+        try {
+            handle.future = executor.submit(() -> run(handle, generator));
+        } catch (RejectedExecutionException e) {
+            reports.remove(job.getId());
+            throw new ServiceBusyException("Too many reports are running or queued, try again later");
+        }
+        return job;
+    }
+
+    public ReportJob getJob(String id) {
+        return handle(id).job;
+    }
+
+    /** Writes rows {@code [from, from + count)} of a completed report as a JSON array. */
+    public long writePage(String id, long from, long count, OutputStream out) throws IOException {
+        ReportHandle handle = handle(id);
+        if (handle.job.getStatus() != ReportJob.Status.COMPLETED) {
+            throw new IllegalStateException("Report " + id + " is " + handle.job.getStatus());
+        }
+        // A cancel or TTL purge meanwhile only deletes the spool once this read has released it
+        if (!handle.spool.retain()) {
+            throw new JobNotFoundException("Report " + id + " not found");
+        }
+        try {
+            return handle.spool.writePage(from, count, out);
+        } finally {
+            handle.spool.release();
+        }
+    }
+
+    /** Cancels a queued or running report; a finished report is deleted right away. */
+    public void cancel(String id) {
+        ReportHandle handle = handle(id);
+        ReportJob.Status status = handle.job.getStatus();
+        if (status == ReportJob.Status.QUEUED || status == ReportJob.Status.RUNNING) {
+            handle.cancelled = true;
+            if (handle.future != null && handle.future.cancel(false)) {
+                // Never started, so the worker will not record the cancellation
+                finish(handle, ReportJob.Status.CANCELLED, null);
+            }
+            logger.info("Report {} cancelled", id);
+        } else {
+            remove(id);
+        }
+    }
+
+    public void purgeExpired(LocalDateTime now) {
+        reports.values().stream()
+                .filter(handle -> handle.job.getExpiresAt() != null && handle.job.getExpiresAt().isBefore(now))
+                .map(handle -> handle.job.getId())
+                .toList()
+                .forEach(this::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+        executor.shutdownNow();
+        reports.keySet().forEach(this::remove);
+    }
+
+    private ReportHandle handle(String id) {
+        ReportHandle handle = reports.get(id);
+        if (handle == null) {
+            throw new JobNotFoundException("Report " + id + " not found");
+        }
+        return handle;
+    }
+
+    private void remove(String id) {
+        ReportHandle handle = reports.remove(id);
+        if (handle != null) {
+            handle.spool.delete();
+            logger.debug("Report {} removed", id);
+        }
+    }
+
+    private void run(ReportHandle handle, ReportGenerator generator) {
+        ReportJob job = handle.job;
+        job.setStartedAt(LocalDateTime.now());
+        job.setStatus(ReportJob.Status.RUNNING);
+        long start = System.nanoTime();
+        try (ReportSpool.Writer writer = handle.spool.openWriter();
+             RowSink sink = new RowSink(handle, writer)) {
+            generator.generate(sink, job.getSummary());
+        } catch (CancellationException e) {
+            handle.spool.delete();
+            finish(handle, ReportJob.Status.CANCELLED, null);
+            return;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Report {} failed", job.getId(), e);
+            handle.spool.delete();
+            finish(handle, ReportJob.Status.FAILED, e.getMessage());
+            return;
+        }
+        finish(handle, ReportJob.Status.COMPLETED, null);
+        logger.info("Report {} finished in {} ms with {} rows", job.getId(), (System.nanoTime() - start) / 1_000_000, job.getRows());
+    }
+
+    private void finish(ReportHandle handle, ReportJob.Status status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        handle.job.setError(error);
+        handle.job.setFinishedAt(now);
+        handle.job.setExpiresAt(now.plus(ttl));
+        handle.job.setStatus(status);
+    }
+
+    private ReportGenerator employeesReport(EmployeeQueryPlan plan) {
+        return (sink, summary) -> employeeQueryService.forEachRow(plan, row -> {
+            EmployeeQueryService.writeFields(sink.startRow(), plan.returned(), row);
+            sink.endRow();
+        });
+    }
+
+    private ReportGenerator payrollByJobTitleReport(String jobTitle, Money baseSalary) {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setDesignation(jobTitle);
+        EmployeeQueryPlan plan = employeeQueryService.plan(query);
+        return (sink, summary) -> {
+            long[] totalMinor = {0};
+            long employees = employeeQueryService.forEachRow(plan, row -> {
+                Money pay = baseSalary.plus((Money) row[EmployeeField.SALARY.ordinal()]);
+                totalMinor[0] = Math.addExact(totalMinor[0], pay.minorUnits());
+                JsonGenerator json = sink.startRow();
+                EmployeeQueryService.writeFields(json, plan.returned(), row);
+                json.writeNumberField("baseSalary", baseSalary.toBigDecimal());
+                json.writeNumberField("pay", pay.toBigDecimal());
+                sink.endRow();
+            });
+            summary.put("designation", jobTitle);
+            summary.put("baseSalary", baseSalary);
+            summary.put("employees", employees);
+            summary.put("totalPayroll", Money.ofMinor(totalMinor[0]));
+        };
+    }
+
+    private ReportGenerator departmentGroupingReport() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setSort(EmployeeField.DEPARTMENT.property());
+        query.setFields(List.of(EmployeeField.DEPARTMENT.property(), EmployeeField.NAME.property()));
+        EmployeeQueryPlan plan = employeeQueryService.plan(query);
+        return (sink, summary) -> {
+            // Rows arrive sorted by department, so only the current department's names are held
+            List<String> names = new ArrayList<>();
+            String[] department = {null};
+            long[] departments = {0};
+            employeeQueryService.forEachRow(plan, row -> {
+                sink.checkCancelled();
+                String rowDepartment = (String) row[EmployeeField.DEPARTMENT.ordinal()];
+                if (!names.isEmpty() && !sameDepartment(department[0], rowDepartment)) {
+                    writeGroup(sink, department[0], names);
+                    departments[0]++;
+                }
+                if (names.isEmpty()) {
+                    department[0] = rowDepartment;
+                }
+                names.add((String) row[EmployeeField.NAME.ordinal()]);
+            });
+            if (!names.isEmpty()) {
+                writeGroup(sink, department[0], names);
+                departments[0]++;
+            }
+            summary.put("departments", departments[0]);
+        };
+    }
+
+    // Same rule as the database's case-insensitive ORDER BY, so a department is one contiguous run
+    private static boolean sameDepartment(String a, String b) {
+        return a == null ? b == null : a.equalsIgnoreCase(b);
+    }
+
+    private static void writeGroup(RowSink sink, String department, List<String> names) throws IOException {
+        JsonGenerator json = sink.startRow();
+        json.writeStringField("department", department);
+        json.writeNumberField("headcount", names.size());
+        json.writeArrayFieldStart("employees");
+        for (String name : names) {
+            json.writeString(name);
+        }
+        json.writeEndArray();
+        sink.endRow();
+        names.clear();
+    }
+
+    private void deleteSpoolFilesOfPreviousRuns() throws IOException {
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            files.filter(file -> file.toString().endsWith(".rows") || file.toString().endsWith(".idx"))
+                    .forEach(file -> {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
+    }
+
+    private interface ReportGenerator {
+        void generate(RowSink sink, Map<String, Object> summary) throws IOException;
+    }
+
+    private static final class ReportHandle {
+        private final ReportJob job;
+        private final ReportSpool spool;
+        private volatile Future<?> future;
+        private volatile boolean cancelled;
+
+        private ReportHandle(ReportJob job, ReportSpool spool) {
+            this.job = job;
+            this.spool = spool;
+        }
+    }
+
+    /** Encodes one row at a time into a reused buffer and appends it to the spool. */
+    private final class RowSink implements AutoCloseable {
+        private final ReportHandle handle;
+        private final ReportSpool.Writer writer;
+        private final RowBuffer buffer = new RowBuffer();
+        private final JsonGenerator generator;
+
+        private RowSink(ReportHandle handle, ReportSpool.Writer writer) throws IOException {
+            this.handle = handle;
+            this.writer = writer;
+            this.generator = objectMapper.getFactory().createGenerator(buffer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        void checkCancelled() {
+            if (handle.cancelled) {
+                throw new CancellationException();
+            }
+        }
+
+        JsonGenerator startRow() throws IOException {
+            checkCancelled();
+            generator.writeStartObject();
+            return generator;
+        }
+
+        void endRow() throws IOException {
+            generator.writeEndObject();
+            generator.flush();
+            writer.append(buffer.bytes(), buffer.size());
+            buffer.reset();
+            handle.job.setRows(writer.count());
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class RowBuffer extends ByteArrayOutputStream {
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * On-disk result set of a report: a {@code .rows} file with the rows back to back and a
+ * {@code .idx} file with the start offset of every row plus the end offset of the last one,
+ * as big-endian longs.
+ *
+ * Rows are stored already encoded as JSON objects, so serving a page is a matter of memory
+ * mapping the slice of the index and of the rows it covers and copying those bytes to the
+ * response. Only the requested page is mapped; the heap never holds more than one row.
+ * Readers {@link #retain()} the spool while they page through it, and {@link #delete()}
+ * waits for the last of them to {@link #release()} it before the files go.
+ */
+final class ReportSpool {
+
+    private static final byte[] OPEN = "[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEPARATOR = ",".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSE = "]".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path rowsFile;
+    private final Path indexFile;
+    private int readers;
+    private boolean deleted;
+
+    ReportSpool(Path directory, String reportId) {
+        this.rowsFile = directory.resolve(reportId + ".rows");
+        this.indexFile = directory.resolve(reportId + ".idx");
+    }
+
+    Writer openWriter() throws IOException {
+        return new Writer();
+    }
+
+    /** Writes rows {@code [from, from + count)} as a JSON array and returns how many were written. */
+    long writePage(long from, long count, OutputStream out) throws IOException {
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ);
+             FileChannel rows = FileChannel.open(rowsFile, StandardOpenOption.READ)) {
+            long total = index.size() / Long.BYTES - 1;
+            long to = Math.min(total, from + count);
+            WritableByteChannel target = Channels.newChannel(out);
+            out.write(OPEN);
+            if (from < to) {
+                MappedByteBuffer offsets = index.map(FileChannel.MapMode.READ_ONLY, from * Long.BYTES, (to - from + 1) * Long.BYTES);
+                long base = offsets.getLong(0);
+                long end = offsets.getLong((int) (to - from) * Long.BYTES);
+                MappedByteBuffer data = rows.map(FileChannel.MapMode.READ_ONLY, base, end - base);
+                for (int i = 0; i < to - from; i++) {
+                    if (i > 0) {
+                        out.write(SEPARATOR);
+                    }
+                    int rowStart = (int) (offsets.getLong(i * Long.BYTES) - base);
+                    int rowEnd = (int) (offsets.getLong((i + 1) * Long.BYTES) - base);
+                    target.write(data.slice(rowStart, rowEnd - rowStart));
+                }
+            }
+            out.write(CLOSE);
+            return Math.max(0, to - from);
+        }
+    }
+
+    /** Registers a reader, or returns false when the spool has already been deleted. */
+    synchronized boolean retain() {
+        if (deleted) {
+            return false;
+        }
+        readers++;
+        return true;
+    }
+
+    synchronized void release() {
+        if (--readers == 0 && deleted) {
+            deleteFiles();
+        }
+    }
+
+    /** Deletes the files now, or when the last reader releases the spool. */
+    synchronized void delete() {
+        deleted = true;
+        if (readers == 0) {
+            deleteFiles();
+        }
+    }
+
+    private void deleteFiles() {
+        try {
+            Files.deleteIfExists(rowsFile);
+            Files.deleteIfExists(indexFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete report spool " + rowsFile, e);
+        }
+    }
+
+    final class Writer implements Closeable {
+        private final OutputStream rows;
+        private final DataOutputStream index;
+        private long offset;
+        private long count;
+
+        private Writer() throws IOException {
+            this.rows = new BufferedOutputStream(Files.newOutputStream(rowsFile), 64 * 1024);
+            this.index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile), 64 * 1024));
+            index.writeLong(0);
+        }
+
+        void append(byte[] row, int length) throws IOException {
+            rows.write(row, 0, length);
+            offset += length;
+            index.writeLong(offset);
+            count++;
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (rows; index) {
+                rows.flush();
+                index.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/** The reports that can be run asynchronously, by the name used in {@code /api/reports/{type}}. */
+public enum ReportType {
+    /** One row per employee matching the same filters as {@code /api/employees/query}. */
+    EMPLOYEES("employees"),
+    /** One row per employee of a designation with base salary and pay; the total is in the summary. */
+    PAYROLL_BY_JOB_TITLE("payroll-by-job-title"),
+    /** One row per department with the names of its employees. */
+    DEPARTMENT_GROUPING("department-grouping");
+
+    private final String path;
+
+    ReportType(String path) {
+        this.path = path;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public static ReportType fromPath(String path) {
+        return Arrays.stream(values())
+                .filter(type -> type.path.equals(path))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown report '" + path + "', expected one of "
+                        + Arrays.stream(values()).map(ReportType::path).collect(Collectors.joining(", "))));
+    }
+}
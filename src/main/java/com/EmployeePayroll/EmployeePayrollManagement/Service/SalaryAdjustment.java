@@ -0,0 +1,69 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * One salary change of a bulk revision: a percentage ({@code 6%}, {@code -2.5%}),
+ * a signed amount ({@code +500.00}, {@code -120}) or a new salary ({@code 52000.00}).
+ */
+public record SalaryAdjustment(Kind kind, BigDecimal value) {
+
+    public enum Kind { PERCENT, AMOUNT, NEW_SALARY }
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    public static SalaryAdjustment percent(BigDecimal percent) {
+        if (percent.compareTo(HUNDRED.negate()) <= 0) {
+            throw new IllegalArgumentException("A percentage cut must be smaller than 100%: " + percent);
+        }
+        return new SalaryAdjustment(Kind.PERCENT, percent);
+    }
+
+    public static SalaryAdjustment amount(Money amount) {
+        return new SalaryAdjustment(Kind.AMOUNT, amount.toBigDecimal());
+    }
+
+    public static SalaryAdjustment parse(String text) {
+        String trimmed = text.trim();
+        try {
+            if (trimmed.endsWith("%")) {
+                return percent(new BigDecimal(trimmed.substring(0, trimmed.length() - 1).trim()));
+            }
+            if (trimmed.startsWith("+") || trimmed.startsWith("-")) {
+                return amount(Money.of(trimmed));
+            }
+            return new SalaryAdjustment(Kind.NEW_SALARY, Money.of(trimmed).toBigDecimal());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a salary adjustment: " + text);
+        }
+    }
+
+    /** New salary in minor units; percentages round half-even to the cent. */
+    public long apply(long oldMinorUnits) {
+        long newMinorUnits = switch (kind) {
+            case PERCENT -> BigDecimal.valueOf(oldMinorUnits)
+                    .multiply(HUNDRED.add(value))
+                    .divide(HUNDRED, 0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+            case AMOUNT -> Math.addExact(oldMinorUnits, Money.of(value).minorUnits());
+            case NEW_SALARY -> Money.of(value).minorUnits();
+        };
+        if (newMinorUnits < 0) {
+            throw new IllegalArgumentException("Adjustment " + this + " would make a salary of "
+                    + Money.ofMinor(oldMinorUnits) + " negative");
+        }
+        return newMinorUnits;
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case PERCENT -> value.toPlainString() + "%";
+            case AMOUNT -> (value.signum() >= 0 ? "+" : "") + value.toPlainString();
+            case NEW_SALARY -> value.toPlainString();
+        };
+    }
+}
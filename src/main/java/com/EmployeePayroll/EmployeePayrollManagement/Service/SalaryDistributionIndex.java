@@ -0,0 +1,228 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryPercentilesDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps one {@link SalarySketch} per (department, designation) so salary percentiles are
+ * answered from memory instead of scanning the employees table.
+ *
+ * Sketches are built from all employees at startup and then follow {@link EmployeeChangedEvent}s.
+ * Department-wide and company-wide percentiles merge the per-designation sketches at query
+ * time, which costs one pass over at most a few thousand bucket counters. If an event ever
+ * removes a salary the sketch does not know about, the index has drifted from the table and
+ * is rebuilt in the background.
+ *
+ * Events that arrive while a rebuild reads the table may or may not be part of what it read,
+ * so the rebuild records the latest state of every employee changed meanwhile and, when it
+ * swaps in the new sketches, replaces what it read for those employees with that state.
+ */
+@Component
+public class SalaryDistributionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaryDistributionIndex.class);
+
+    private final EmployeeService employeeService;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Map<String, SalarySketch>> sketches = new HashMap<>();
+    // Latest state (null when deleted) of employees changed while a rebuild runs, null otherwise
+    private Map<Long, EmployeeDTO> changedDuringRebuild;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "salary-distribution-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SalaryDistributionIndex(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildFromDatabase() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            rebuild(employeeService.getAllEmployees());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** Bulk revisions change salaries without per-employee events, so start over from the table. */
+    @EventListener
+    public void onSalaryRevision(SalaryRevisionCompletedEvent event) {
+        logger.info("Rebuilding salary distribution after revision {} updated {} employees", event.getRevisionId(), event.getUpdated());
+        rebuildFromDatabase();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        boolean consistent;
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(event.getEmpId(), event.getAfter());
+            }
+            EmployeeDTO before = event.getBefore();
+            consistent = before == null
+                    || remove(before.getDepartment(), before.getDesignation(), before.getSalary().doubleValue());
+            if (event.getAfter() != null) {
+                add(event.getAfter().getDepartment(), event.getAfter().getDesignation(), event.getAfter().getSalary().doubleValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!consistent) {
+            logger.warn("Salary distribution out of sync after {} of employee {}, rebuilding", event.getType(), event.getEmpId());
+            scheduleRebuild();
+        }
+    }
+
+    /** Runs a rebuild off the caller's thread; requests made while one is waiting to start share it. */
+    private void scheduleRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuildFromDatabase();
+                } catch (RuntimeException e) {
+                    logger.error("Salary distribution rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    public void rebuild(Collection<Employee> employees) {
+        long start = System.nanoTime();
+        Map<String, Map<String, SalarySketch>> fresh = new HashMap<>();
+        for (Employee employee : employees) {
+            fresh.computeIfAbsent(employee.getDepartment(), key -> new HashMap<>())
+                    .computeIfAbsent(employee.getDesignation(), key -> new SalarySketch())
+                    .add(employee.getSalary().doubleValue());
+        }
+        lock.writeLock().lock();
+        try {
+            sketches = fresh;
+            if (changedDuringRebuild != null && !changedDuringRebuild.isEmpty()) {
+                replay(employees, changedDuringRebuild);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Salary distribution rebuilt with {} employees in {} ms",
+                employees.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Percentiles of the stored salary for a department and/or designation; either may be
+     * null to mean all of them.
+     */
+    public SalaryPercentilesDTO percentiles(String department, String designation, double[] quantiles) {
+        for (double q : quantiles) {
+            if (q < 0 || q > 1) {
+                throw new IllegalArgumentException("Quantiles must be between 0 and 1, got " + q);
+            }
+        }
+
+        SalarySketch merged = new SalarySketch();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Map<String, SalarySketch>> byDepartment : sketches.entrySet()) {
+                if (department != null && !department.equals(byDepartment.getKey())) {
+                    continue;
+                }
+                for (Map.Entry<String, SalarySketch> byDesignation : byDepartment.getValue().entrySet()) {
+                    if (designation == null || designation.equals(byDesignation.getKey())) {
+                        merged.merge(byDesignation.getValue());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (merged.isEmpty()) {
+            logger.error("No salaries found for department {} and designation {}", department, designation);
+            throw new EmployeeNotFoundException("No employees found for department " + department + " and designation " + designation);
+        }
+
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double q : quantiles) {
+            percentiles.put("p" + BigDecimal.valueOf(q).movePointRight(2).stripTrailingZeros().toPlainString(),
+                    roundToCents(merged.quantile(q)));
+        }
+        return new SalaryPercentilesDTO(department, designation, merged.count(), SalarySketch.RELATIVE_ACCURACY,
+                roundToCents(merged.min()), roundToCents(merged.max()), percentiles);
+    }
+
+    /** Replaces what the rebuild read for each employee changed meanwhile with the employee's latest state. */
+    private void replay(Collection<Employee> employees, Map<Long, EmployeeDTO> changed) {
+        for (Employee employee : employees) {
+            if (changed.containsKey(employee.getEmpId())) {
+                remove(employee.getDepartment(), employee.getDesignation(), employee.getSalary().doubleValue());
+            }
+        }
+        for (EmployeeDTO after : changed.values()) {
+            if (after != null) {
+                add(after.getDepartment(), after.getDesignation(), after.getSalary().doubleValue());
+            }
+        }
+        logger.debug("Replayed {} employee changes made during the salary distribution rebuild", changed.size());
+    }
+
+    private void add(String department, String designation, double salary) {
+        sketches.computeIfAbsent(department, key -> new HashMap<>())
+                .computeIfAbsent(designation, key -> new SalarySketch())
+                .add(salary);
+    }
+
+    private boolean remove(String department, String designation, double salary) {
+        Map<String, SalarySketch> byDesignation = sketches.get(department);
+        SalarySketch sketch = byDesignation == null ? null : byDesignation.get(designation);
+        if (sketch == null || !sketch.remove(salary)) {
+            return false;
+        }
+        if (sketch.isEmpty()) {
+            byDesignation.remove(designation);
+            if (byDesignation.isEmpty()) {
+                sketches.remove(department);
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private static double roundToCents(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
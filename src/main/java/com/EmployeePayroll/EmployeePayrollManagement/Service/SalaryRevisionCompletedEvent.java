@@ -0,0 +1,17 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published after a bulk salary revision wrote to the employees table. The rows were
+ * changed with set-based SQL, so no per-employee {@link EmployeeChangedEvent} exists for them.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SalaryRevisionCompletedEvent {
+    private final String revisionId;
+    private final long updated;
+}
@@ -0,0 +1,403 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryChange;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryRevisionJob;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryRevisionRequest;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.JobNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.ServiceBusyException;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceTable;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ChangeSequence;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Applies salary changes to many employees at once without going through
+ * {@link EmployeeService#updateEmployee}'s load-copy-save cycle.
+ *
+ * A revision walks the matching rows in emp_id order, one chunk per transaction: the chunk
+ * is locked with SELECT ... FOR UPDATE, changed with a single UPDATE ... CASE statement and
+ * its old and new values are written to salary_revision_audit. Row locks are therefore only
+ * held for one chunk, and CRUD requests on other rows are not blocked at all. Revisions run
+ * one at a time on a background thread with at most {@code queue-capacity} waiting (503 beyond
+ * that); a dry run reads the same chunks without locking or writing and reports what would change.
+ */
+@Service
+public class SalaryRevisionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaryRevisionService.class);
+
+    private static final int SAMPLE_SIZE = 20;
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final String AUDIT_INSERT = "INSERT INTO salary_revision_audit "
+            + "(revision_id, emp_id, old_salary_minor, new_salary_minor, revised_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, SalaryRevisionJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SalaryRevisionJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public SalaryRevisionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 ShardRouter shardRouter, ApplicationEventPublisher eventPublisher,
+                                 @Value("${payroll.revision.chunk-size:500}") int chunkSize,
+                                 @Value("${payroll.revision.queue-capacity:8}") int queueCapacity) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("payroll.revision.chunk-size must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "salary-revision");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Same adjustment for every employee matching the optional department and designation. */
+    public SalaryRevisionJob submit(SalaryRevisionRequest request) {
+        if ((request.getPercent() == null) == (request.getAmount() == null)) {
+            throw new IllegalArgumentException("Exactly one of percent or amount must be given");
+        }
+        SalaryAdjustment adjustment = request.getPercent() != null
+                ? SalaryAdjustment.percent(request.getPercent())
+                : SalaryAdjustment.amount(request.getAmount());
+        String description = adjustment + " for department=" + Objects.toString(request.getDepartment(), "*")
+                + ", designation=" + Objects.toString(request.getDesignation(), "*");
+
+        return start(description, request.isDryRun(),
+                () -> new FilterChunks(request.getDepartment(), request.getDesignation()),
+                empId -> adjustment);
+    }
+
+    /** One adjustment per line, {@code empId,adjustment}, e.g. {@code 42,6%}, {@code 43,+250.00} or {@code 44,61000.00}. */
+    public SalaryRevisionJob submitCsv(String csv, boolean dryRun) {
+        Map<Long, SalaryAdjustment> adjustments = parseCsv(csv);
+        if (adjustments.isEmpty()) {
+            throw new IllegalArgumentException("The CSV contains no adjustments");
+        }
+        return start("CSV with " + adjustments.size() + " adjustments", dryRun,
+                () -> new IdChunks(adjustments.keySet()),
+                adjustments::get);
+    }
+
+    public SalaryRevisionJob getJob(String id) {
+        SalaryRevisionJob job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException("Salary revision " + id + " not found");
+        }
+        return job;
+    }
+
+    /** Audited changes of a revision, ordered by employee id. */
+    public List<SalaryChange> getAudit(String id, int limit) {
+        getJob(id);
+        return shardRouter.scatter(() -> jdbcTemplate.query(
+                        "SELECT emp_id, old_salary_minor, new_salary_minor FROM salary_revision_audit "
+                                + "WHERE revision_id = ? ORDER BY emp_id LIMIT ?",
+                        (rs, rowNum) -> new SalaryChange(rs.getLong(1), Money.ofMinor(rs.getLong(2)), Money.ofMinor(rs.getLong(3))),
+                        id, limit))
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(SalaryChange::getEmpId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private SalaryRevisionJob start(String description, boolean dryRun, Supplier<ChunkSource> chunks,
+                                    LongFunction<SalaryAdjustment> adjustmentFor) {
+        if (shardRouter.isRebalancing()) {
+            throw new ServiceBusyException("Salary revisions are paused while shards are rebalanced");
+        }
+        SalaryRevisionJob job = new SalaryRevisionJob(UUID.randomUUID().toString(), description, dryRun);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, chunks, adjustmentFor));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new ServiceBusyException("Too many salary revisions are running or queued, try again later");
+        }
+        logger.info("Salary revision {} queued: {}{}", job.getId(), description, dryRun ? " (dry run)" : "");
+        return job;
+    }
+
+    private void run(SalaryRevisionJob job, Supplier<ChunkSource> chunks, LongFunction<SalaryAdjustment> adjustmentFor) {
+        job.setStartedAt(LocalDateTime.now());
+        job.setStatus(SalaryRevisionJob.Status.RUNNING);
+        long start = System.nanoTime();
+        try {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                shardRouter.onShard(shard, () -> {
+                    reviseShard(job, chunks.get(), adjustmentFor);
+                    return null;
+                });
+            }
+            job.setStatus(SalaryRevisionJob.Status.COMPLETED);
+            logger.info("Salary revision {} finished in {} ms: {} matched, {} updated{}", job.getId(),
+                    (System.nanoTime() - start) / 1_000_000, job.getMatched(), job.getUpdated(), job.isDryRun() ? " (dry run)" : "");
+        } catch (RuntimeException e) {
+            // Chunks committed before the failure stay applied and audited
+            job.setError(e.getMessage());
+            job.setStatus(SalaryRevisionJob.Status.FAILED);
+            logger.error("Salary revision {} failed after {} updates", job.getId(), job.getUpdated(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            // A dry run writes nothing, so there is nothing for the salary indexes to pick up
+            if (!job.isDryRun() && job.getUpdated() > 0) {
+                eventPublisher.publishEvent(new SalaryRevisionCompletedEvent(job.getId(), job.getUpdated()));
+            }
+        }
+    }
+
+    private void reviseShard(SalaryRevisionJob job, ChunkSource chunks, LongFunction<SalaryAdjustment> adjustmentFor) {
+        while (true) {
+            ChunkResult result = job.isDryRun()
+                    ? revise(job, chunks, adjustmentFor, false)
+                    : transactionTemplate.execute(status -> revise(job, chunks, adjustmentFor, true));
+            if (result == null) {
+                return;
+            }
+            // Progress is only counted once the chunk's transaction has committed
+            job.setChunks(job.getChunks() + 1);
+            job.setMatched(job.getMatched() + result.rows);
+            if (!job.isDryRun()) {
+                job.setUpdated(job.getUpdated() + result.changes.size());
+            }
+            job.setNotFound(job.getNotFound() + result.missing);
+            job.setTotalBefore(job.getTotalBefore().plus(Money.ofMinor(result.beforeMinor)));
+            job.setTotalAfter(job.getTotalAfter().plus(Money.ofMinor(result.afterMinor)));
+            for (SalaryChange change : result.changes) {
+                if (job.getSample().size() >= SAMPLE_SIZE) {
+                    break;
+                }
+                job.getSample().add(change);
+            }
+        }
+    }
+
+    /** Processes the next chunk, or returns null when the shard has no more rows. */
+    private ChunkResult revise(SalaryRevisionJob job, ChunkSource chunks, LongFunction<SalaryAdjustment> adjustmentFor,
+                               boolean write) {
+        Chunk chunk = chunks.next(write);
+        if (chunk == null) {
+            return null;
+        }
+        ChunkResult result = new ChunkResult(chunk.rows.size(), chunk.missing);
+        for (long[] row : chunk.rows) {
+            long newMinor = adjustmentFor.apply(row[0]).apply(row[1]);
+            result.beforeMinor = Math.addExact(result.beforeMinor, row[1]);
+            result.afterMinor = Math.addExact(result.afterMinor, newMinor);
+            if (newMinor != row[1]) {
+                result.changes.add(new SalaryChange(row[0], Money.ofMinor(row[1]), Money.ofMinor(newMinor)));
+            }
+        }
+        if (write && !result.changes.isEmpty()) {
+            writeChanges(job.getId(), result.changes);
+        }
+        return result;
+    }
+
+    private void writeChanges(String revisionId, List<SalaryChange> changes) {
+        StringBuilder update = new StringBuilder("UPDATE employees SET salary_minor = CASE emp_id");
+        List<Object> params = new ArrayList<>(changes.size() * 3);
+        for (SalaryChange change : changes) {
+            update.append(" WHEN ? THEN ?");
+            params.add(change.getEmpId());
+            params.add(change.getNewSalary().minorUnits());
+        }
+        update.append(" END WHERE emp_id IN (").append(placeholders(changes.size())).append(")");
+        changes.forEach(change -> params.add(change.getEmpId()));
+        jdbcTemplate.update(update.toString(), params.toArray());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(AUDIT_INSERT, changes.stream()
+                .map(change -> new Object[]{revisionId, change.getEmpId(), change.getOldSalary().minorUnits(),
+                        change.getNewSalary().minorUnits(), now})
+                .collect(Collectors.toList()));
+
+        // Last before commit, so the shard's counter row is held only while the chunk commits.
+        // The whole chunk shares one value; the feed orders ties by emp_id
+        ChangeSequence.stamp(jdbcTemplate, ChangeSequence.next(jdbcTemplate),
+                changes.stream().map(SalaryChange::getEmpId).collect(Collectors.toList()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    static Map<Long, SalaryAdjustment> parseCsv(String csv) {
+        Map<Long, SalaryAdjustment> adjustments = new LinkedHashMap<>();
+        String[] lines = csv.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected empId,adjustment but got '" + line + "'");
+            }
+            long empId;
+            try {
+                empId = Long.parseLong(fields[0].trim());
+            } catch (NumberFormatException e) {
+                if (adjustments.isEmpty()) {
+                    continue; // header
+                }
+                throw new IllegalArgumentException("Line " + (i + 1) + ": '" + fields[0].trim() + "' is not an employee id");
+            }
+            SalaryAdjustment adjustment;
+            try {
+                adjustment = SalaryAdjustment.parse(fields[1]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage());
+            }
+            if (adjustments.put(empId, adjustment) != null) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": employee " + empId + " is listed twice");
+            }
+        }
+        return adjustments;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private interface ChunkSource {
+        /** Next chunk of (emp_id, salary_minor) rows on the current shard, locked when {@code lock} is set. */
+        Chunk next(boolean lock);
+    }
+
+    private record Chunk(List<long[]> rows, int missing) {
+    }
+
+    private static final class ChunkResult {
+        private final int rows;
+        private final int missing;
+        private final List<SalaryChange> changes = new ArrayList<>();
+        private long beforeMinor;
+        private long afterMinor;
+
+        private ChunkResult(int rows, int missing) {
+            this.rows = rows;
+            this.missing = missing;
+        }
+    }
+
+    /**
+     * Keyset walk over the rows matching a department/designation filter.
+     *
+     * With both filters set, or none, every row the emp_id seek reads matches, so the chunk is
+     * locked as it is read (with both set, through the (department_id, designation_id, emp_id)
+     * index). With only one of them, the seek walks the primary key past rows that do not
+     * match and InnoDB would lock those as well, so the matching ids are read without locks
+     * first and then locked by id, re-checking the filter.
+     */
+    private final class FilterChunks implements ChunkSource {
+        private final String department;
+        private final String designation;
+        private long lastEmpId;
+
+        private FilterChunks(String department, String designation) {
+            this.department = department;
+            this.designation = designation;
+        }
+
+        @Override
+        public Chunk next(boolean lock) {
+            boolean lockWhileSeeking = lock && (department == null) == (designation == null);
+            List<Object> params = new ArrayList<>(List.of(lastEmpId));
+            String sql = "SELECT emp_id, salary_minor FROM employees WHERE emp_id > ?" + filter(params)
+                    + " ORDER BY emp_id LIMIT ?" + (lockWhileSeeking ? " FOR UPDATE" : "");
+            params.add(chunkSize);
+            List<long[]> rows = jdbcTemplate.query(sql,
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, params.toArray());
+            if (rows.isEmpty()) {
+                return null;
+            }
+            lastEmpId = rows.get(rows.size() - 1)[0];
+            if (lock && !lockWhileSeeking) {
+                // Rows changed since the unlocked read are read again; ones that no longer match drop out
+                List<Object> lockParams = new ArrayList<>();
+                rows.forEach(row -> lockParams.add(row[0]));
+                String lockSql = "SELECT emp_id, salary_minor FROM employees WHERE emp_id IN ("
+                        + placeholders(rows.size()) + ")" + filter(lockParams) + " ORDER BY emp_id FOR UPDATE";
+                rows = jdbcTemplate.query(lockSql,
+                        (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, lockParams.toArray());
+            }
+            return new Chunk(rows, 0);
+        }
+
+        private String filter(List<Object> params) {
+            StringBuilder sql = new StringBuilder();
+            if (department != null) {
+                sql.append(" AND ").append(ReferenceTable.DEPARTMENTS.keyMatchingName(null));
+                params.add(department);
+            }
+            if (designation != null) {
+                sql.append(" AND ").append(ReferenceTable.DESIGNATIONS.keyMatchingName(null));
+                params.add(designation);
+            }
+            return sql.toString();
+        }
+    }
+
+    /** Walks an explicit list of employee ids, restricted to the ids owned by the current shard. */
+    private final class IdChunks implements ChunkSource {
+        private final long[] ids;
+        private int position;
+
+        private IdChunks(Collection<Long> allIds) {
+            Integer shard = ShardRouter.currentShard();
+            this.ids = allIds.stream()
+                    .mapToLong(Long::longValue)
+                    .filter(id -> shard == null || shardRouter.shardForId(id) == shard)
+                    .sorted()
+                    .toArray();
+        }
+
+        @Override
+        public Chunk next(boolean lock) {
+            if (position >= ids.length) {
+                return null;
+            }
+            int end = Math.min(position + chunkSize, ids.length);
+            Object[] chunkIds = Arrays.stream(ids, position, end).boxed().toArray();
+            position = end;
+            List<long[]> rows = jdbcTemplate.query("SELECT emp_id, salary_minor FROM employees WHERE emp_id IN ("
+                            + placeholders(chunkIds.length) + ") ORDER BY emp_id" + (lock ? " FOR UPDATE" : ""),
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, chunkIds);
+            return new Chunk(rows, chunkIds.length - rows.size());
+        }
+    }
+}
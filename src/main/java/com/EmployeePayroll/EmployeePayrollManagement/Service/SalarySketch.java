@@ -0,0 +1,134 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+/**
+ * Mergeable quantile sketch over salaries, using the logarithmic buckets of DDSketch.
+ *
+ * Bucket {@code i} counts the values in {@code (GAMMA^(i-1), GAMMA^i]} and reports them as
+ * {@code 2 * GAMMA^i / (GAMMA + 1)}. With {@code GAMMA = (1 + a) / (1 - a)} every quantile
+ * is therefore within a relative error of {@code a} ({@link #RELATIVE_ACCURACY}, 1%) of the
+ * exact value at that rank, regardless of the distribution or the number of values.
+ * Values below 1 (unpaid or invalid rows) are kept in a separate zero bucket and reported as 0.
+ *
+ * Memory is one counter per occupied bucket range: salaries between 1 and 10^9 span at most
+ * about 1050 buckets (8 KB). Because a value always maps to the same bucket, values can be
+ * removed again, which keeps the sketch exact under updates and deletes. Not thread-safe.
+ */
+public final class SalarySketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_INDEXABLE = 1.0;
+
+    private long[] counts = new long[0];
+    private int minIndex;
+    private long zeroCount;
+    private long count;
+
+    public void add(double value) {
+        if (value < MIN_INDEXABLE) {
+            zeroCount++;
+        } else {
+            int index = index(value);
+            ensureCapacity(index);
+            counts[index - minIndex]++;
+        }
+        count++;
+    }
+
+    /** Returns false when the value was never added, meaning the sketch is out of sync with its source. */
+    public boolean remove(double value) {
+        if (value < MIN_INDEXABLE) {
+            if (zeroCount == 0) {
+                return false;
+            }
+            zeroCount--;
+        } else {
+            int slot = index(value) - minIndex;
+            if (slot < 0 || slot >= counts.length || counts[slot] == 0) {
+                return false;
+            }
+            counts[slot]--;
+        }
+        count--;
+        return true;
+    }
+
+    public void merge(SalarySketch other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                int index = other.minIndex + i;
+                ensureCapacity(index);
+                counts[index - minIndex] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /** Value at rank {@code q * (count - 1)}, within {@link #RELATIVE_ACCURACY}. */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Quantile of an empty sketch");
+        }
+        double rank = q * (count - 1);
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0.0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return value(minIndex + i);
+            }
+        }
+        return value(minIndex + counts.length - 1);
+    }
+
+    public double min() {
+        return quantile(0);
+    }
+
+    public double max() {
+        return quantile(1);
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private static double value(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            minIndex = index - 8;
+            return;
+        }
+        int maxIndex = minIndex + counts.length - 1;
+        if (index >= minIndex && index <= maxIndex) {
+            return;
+        }
+        // Grow with some headroom on the side that overflowed, so a run of new extremes stays cheap
+        int newMin = Math.min(minIndex, index - (index < minIndex ? 8 : 0));
+        int newMax = Math.max(maxIndex, index + (index > maxIndex ? 8 : 0));
+        long[] grown = new long[newMax - newMin + 1];
+        System.arraycopy(counts, 0, grown, minIndex - newMin, counts.length);
+        counts = grown;
+        minIndex = newMin;
+    }
+}
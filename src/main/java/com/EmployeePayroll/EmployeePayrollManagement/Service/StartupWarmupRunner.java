@@ -0,0 +1,58 @@
+package com.EmployeePayroll.EmployeePayrollManagement.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the hot aggregate queries a few times during startup so the connection pool,
+ * Hibernate metadata and the JIT are warm before the first real request.
+ * Spring Boot only publishes ReadinessState.ACCEPTING_TRAFFIC after all runners
+ * have finished, so the readiness probe stays DOWN until this is done.
+ */
+@Component
+public class StartupWarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmupRunner.class);
+
+    private final EmployeeService employeeService;
+    private final boolean enabled;
+    private final int iterations;
+
+    public StartupWarmupRunner(EmployeeService employeeService,
+                               @Value("${payroll.warmup.enabled:false}") boolean enabled,
+                               @Value("${payroll.warmup.iterations:1}") int iterations) {
+        this.employeeService = employeeService;
+        this.enabled = enabled;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            warm("total payroll", employeeService::calculateTotalPayroll);
+            warm("grouped by department", employeeService::getEmployeesGroupedByDepartment);
+            warm("top salaries", () -> employeeService.getTopNHighestPaidEmployees(10));
+        }
+        logger.info("Startup warm-up finished in {} ms ({} iterations)", (System.nanoTime() - start) / 1_000_000, iterations);
+    }
+
+    private void warm(String name, Runnable aggregate) {
+        try {
+            aggregate.run();
+        } catch (EmployeeNotFoundException e) {
+            // An empty table is a valid state for a fresh environment
+            logger.debug("Warm-up of {} skipped: {}", name, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up of {} failed: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Baseline schema, matching what ddl-auto=update used to create for Employee
+CREATE TABLE IF NOT EXISTS employees (
+    emp_id           BIGINT       NOT NULL AUTO_INCREMENT,
+    name             VARCHAR(255),
+    salary           DOUBLE       NOT NULL,
+    department_title VARCHAR(255),
+    designation      VARCHAR(255),
+    employment_type  VARCHAR(255),
+    hire_date        DATE,
+    PRIMARY KEY (emp_id)
+);
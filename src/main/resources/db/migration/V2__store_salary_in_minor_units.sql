@@ -0,0 +1,7 @@
+-- Salaries move from DOUBLE to exact BIGINT cents (see Money).
+-- The DECIMAL cast turns the stored double into its two-place decimal before scaling,
+-- so e.g. 2300.45 becomes 230045 and not 230044 from 230044.99999999997.
+ALTER TABLE employees ADD COLUMN salary_minor BIGINT NOT NULL DEFAULT 0;
+UPDATE employees SET salary_minor = ROUND(CAST(salary AS DECIMAL(19, 4)) * 100);
+ALTER TABLE employees ALTER COLUMN salary_minor DROP DEFAULT;
+ALTER TABLE employees DROP COLUMN salary;
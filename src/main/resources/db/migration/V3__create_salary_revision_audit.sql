@@ -0,0 +1,14 @@
+-- Old and new salary of every row changed by a bulk salary revision (SalaryRevisionService)
+CREATE TABLE IF NOT EXISTS salary_revision_audit (
+    id               BIGINT      NOT NULL AUTO_INCREMENT,
+    revision_id      VARCHAR(36) NOT NULL,
+    emp_id           BIGINT      NOT NULL,
+    old_salary_minor BIGINT      NOT NULL,
+    new_salary_minor BIGINT      NOT NULL,
+    revised_at       TIMESTAMP   NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_salary_revision_audit_revision ON salary_revision_audit (revision_id, emp_id);
+
+-- Lets a revision walk "all SeniorEngineer in IT" in emp_id order without scanning the table
+CREATE INDEX idx_employees_department_designation ON employees (department_title, designation, emp_id);
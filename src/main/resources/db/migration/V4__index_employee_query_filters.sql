@@ -0,0 +1,3 @@
+-- Range filters and sorts of GET /api/employees/query (EmployeeQueryRepository)
+CREATE INDEX idx_employees_hire_date ON employees (hire_date);
+CREATE INDEX idx_employees_salary ON employees (salary_minor);
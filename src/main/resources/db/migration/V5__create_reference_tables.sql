@@ -0,0 +1,49 @@
+-- Department, designation and employment type move from free text in every employee row to
+-- SMALLINT keys of small reference tables (see ReferenceDictionary). Names that differ only in
+-- case share one key. Each shard numbers its own names here; ReferenceKeys aligns the keys of
+-- all shards at startup.
+CREATE TABLE departments (
+    id   SMALLINT     NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE UNIQUE INDEX uk_departments_name ON departments (name);
+
+CREATE TABLE designations (
+    id   SMALLINT     NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE UNIQUE INDEX uk_designations_name ON designations (name);
+
+CREATE TABLE employment_types (
+    id   SMALLINT     NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE UNIQUE INDEX uk_employment_types_name ON employment_types (name);
+
+INSERT INTO departments (id, name)
+SELECT ROW_NUMBER() OVER (ORDER BY MIN(department_title)), MIN(department_title)
+FROM employees WHERE department_title IS NOT NULL GROUP BY LOWER(department_title);
+INSERT INTO designations (id, name)
+SELECT ROW_NUMBER() OVER (ORDER BY MIN(designation)), MIN(designation)
+FROM employees WHERE designation IS NOT NULL GROUP BY LOWER(designation);
+INSERT INTO employment_types (id, name)
+SELECT ROW_NUMBER() OVER (ORDER BY MIN(employment_type)), MIN(employment_type)
+FROM employees WHERE employment_type IS NOT NULL GROUP BY LOWER(employment_type);
+
+ALTER TABLE employees ADD COLUMN department_id SMALLINT;
+ALTER TABLE employees ADD COLUMN designation_id SMALLINT;
+ALTER TABLE employees ADD COLUMN employment_type_id SMALLINT;
+UPDATE employees SET
+    department_id = (SELECT id FROM departments WHERE LOWER(departments.name) = LOWER(employees.department_title)),
+    designation_id = (SELECT id FROM designations WHERE LOWER(designations.name) = LOWER(employees.designation)),
+    employment_type_id = (SELECT id FROM employment_types WHERE LOWER(employment_types.name) = LOWER(employees.employment_type));
+
+-- Rebuilt on the keys, for the same department/designation walks of bulk salary revisions
+ALTER TABLE employees DROP INDEX idx_employees_department_designation;
+ALTER TABLE employees DROP COLUMN department_title;
+ALTER TABLE employees DROP COLUMN designation;
+ALTER TABLE employees DROP COLUMN employment_type;
+CREATE INDEX idx_employees_department_designation ON employees (department_id, designation_id, emp_id);
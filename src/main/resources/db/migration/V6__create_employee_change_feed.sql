@@ -0,0 +1,24 @@
+-- Change feed of GET /api/employees/changes (EmployeeChangeService).
+-- Every write stamps the employee with the next value of this shard's sequence; the counter
+-- row is locked until the writing transaction commits, so sequence order is commit order.
+-- compacted_seq is the highest tombstone sequence removed by compaction.
+CREATE TABLE IF NOT EXISTS employee_change_sequence (
+    id            TINYINT NOT NULL,
+    last_seq      BIGINT  NOT NULL,
+    compacted_seq BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+INSERT INTO employee_change_sequence (id, last_seq, compacted_seq) VALUES (1, 0, 0);
+
+-- Existing rows keep 0, so the first sync returns them all
+ALTER TABLE employees ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_employees_change_seq ON employees (change_seq, emp_id);
+
+-- One row per deleted employee, until compaction removes it
+CREATE TABLE IF NOT EXISTS employee_tombstones (
+    emp_id     BIGINT    NOT NULL,
+    change_seq BIGINT    NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (emp_id)
+);
+CREATE INDEX idx_employee_tombstones_change_seq ON employee_tombstones (change_seq, emp_id);
@@ -0,0 +1,198 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollReactive.ReactivePayrollApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactivePayrollApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///payroll_reactive?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.r2dbc.username=sa",
+        "spring.flyway.url=jdbc:h2:mem:payroll_reactive;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.flyway.user=sa",
+        "logging.level.com.EmployeePayroll=WARN"
+})
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void clearEmployees() {
+        databaseClient.sql("DELETE FROM employees").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    void createReadUpdateAndDeleteEmployee() {
+        EmployeeDTO created = create("Alice", "2300.45", "Engineering", "Manager", LocalDate.of(2023, 1, 1));
+        assertNotNull(created.getEmpId());
+
+        webTestClient.get().uri("/api/employees/{id}", created.getEmpId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Alice")
+                .jsonPath("$.department").isEqualTo("Engineering")
+                .jsonPath("$.hireDate").isEqualTo("2023-01-01");
+
+        // A department the reference table does not know yet is added on the way
+        created.setDepartment("Research");
+        created.setSalary(Money.of("2500.00"));
+        webTestClient.put().uri("/api/employees/{id}", created.getEmpId())
+                .bodyValue(created)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.department").isEqualTo("Research")
+                .jsonPath("$.salary").isEqualTo(2500.00)
+                .jsonPath("$.hireDate").isEqualTo("2023-01-01");
+
+        webTestClient.delete().uri("/api/employees/{id}", created.getEmpId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/employees/{id}", created.getEmpId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee with ID " + created.getEmpId() + " not found");
+    }
+
+    @Test
+    void unknownEmployeesAreNotFound() {
+        EmployeeDTO employee = new EmployeeDTO(null, "Ghost", Money.of("100.00"), "IT", "Tester", "Full-Time", null);
+        webTestClient.put().uri("/api/employees/{id}", 999_999)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.delete().uri("/api/employees/{id}", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void listEndpointsStreamNewlineDelimitedJson() {
+        create("Alice", "2300.45", "IT", "JuniorEngineer", LocalDate.now().minusMonths(1));
+        create("Bob", "4100.00", "IT", "SeniorEngineer", LocalDate.now().minusYears(3));
+        create("Clary", "2100.45", "HR", "HR", LocalDate.now().minusMonths(2));
+
+        List<EmployeeDTO> all = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(EmployeeDTO.class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals(3, all.size());
+
+        List<EmployeeDTO> top = webTestClient.get().uri("/api/employees/top-salaries/{n}", 2)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeDTO.class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals(List.of("Bob", "Alice"), top.stream().map(EmployeeDTO::getName).toList());
+
+        webTestClient.get().uri("/api/employees/hired-in-last/{months}", 6)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void aggregatesFollowThePayrollRules() {
+        create("Alice", "2300.45", "IT", "JuniorEngineer", LocalDate.of(2023, 1, 1));
+        create("Bob", "4100.00", "IT", "SeniorEngineer", LocalDate.of(2022, 5, 1));
+        create("Clary", "2100.45", "HR", "HR", LocalDate.of(2024, 10, 17));
+
+        // Base salaries: JuniorEngineer 15000, SeniorEngineer 30000, HR 20000
+        webTestClient.get().uri("/api/employees/payroll")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Money.class).isEqualTo(Money.of("73500.90"));
+        webTestClient.get().uri("/api/employees/department/{department}/average-salary", "IT")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Money.class).isEqualTo(Money.of("3200.22"));
+        webTestClient.get().uri("/api/employees/grouped-by-department")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.IT.length()").isEqualTo(2)
+                .jsonPath("$.HR[0]").isEqualTo("Clary");
+        webTestClient.get().uri("/api/employees/filter-by-department/{department}", "it")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+        webTestClient.get().uri("/api/employees/payroll/job-title/{jobTitle}", "HR")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$['Designation/JobTitle']").isEqualTo("HR")
+                .jsonPath("$.Employees[0].name").isEqualTo("Clary");
+        webTestClient.get().uri("/api/employees/payroll/job-title/{jobTitle}", "hr")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No employee found with the designation: hr");
+    }
+
+    @Test
+    void aggregateErrorsMatchTheServletApi() {
+        webTestClient.get().uri("/api/employees/grouped-by-department")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No Employees found in any Department");
+        webTestClient.get().uri("/api/employees/department/{department}/average-salary", "Legal")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No Employee Present in this Department");
+        webTestClient.get().uri("/api/employees/filter-by-department/{department}", "Legal")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No employee found in the Department: Legal");
+        webTestClient.get().uri("/api/employees/payroll/job-title/{jobTitle}", " ")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Job title must not be null or empty.");
+
+        create("Dana", "1000.00", "IT", "Intern", LocalDate.of(2025, 6, 1));
+        webTestClient.get().uri("/api/employees/payroll")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Salary base not found for role: Intern");
+    }
+
+    private EmployeeDTO create(String name, String salary, String department, String designation, LocalDate hireDate) {
+        EmployeeDTO employee = new EmployeeDTO(null, name, Money.of(salary), department, designation, "Full-Time", hireDate);
+        return webTestClient.post().uri("/api/employees")
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(EmployeeDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
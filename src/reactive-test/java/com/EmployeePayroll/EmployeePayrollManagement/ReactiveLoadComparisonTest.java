@@ -0,0 +1,135 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.EmployeePayroll.EmployeePayrollReactive.ReactivePayrollApplication;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Puts the servlet and the reactive application under the same load: both run in this JVM on one
+ * embedded database holding a generated dataset, and a non-blocking client keeps a fixed number
+ * of requests in flight against a mix of list and aggregate endpoints. Throughput, p50/p99 latency
+ * and the JVM's peak thread count are logged per stack and concurrency level.
+ *
+ * r2dbc-h2 wraps the blocking H2 engine, so the database side is not truly non-blocking here; the
+ * comparison shows what the request handling costs, not what a networked MySQL would. Both stacks
+ * keep their default pool sizes (10 JDBC connections, 10 R2DBC connections). Run with
+ * {@code mvn -Preactive,performance test -Dtest=ReactiveLoadComparisonTest}.
+ */
+class ReactiveLoadComparisonTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveLoadComparisonTest.class);
+    private static final int EMPLOYEES = 50_000;
+    private static final int REQUESTS = 3_000;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int[] CONCURRENCY = {64, 512};
+    private static final String JDBC_URL = "jdbc:h2:mem:payroll_load;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String R2DBC_URL = "r2dbc:h2:mem:///payroll_load?options=MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String[] PATHS = {
+            "/api/employees/top-salaries/10",
+            "/api/employees/filter-by-department/Legal",
+            "/api/employees/department/Engineering/average-salary"
+    };
+
+    @Test
+    @Tag("performance")
+    void servletAndReactiveStacksUnderConcurrentLoad() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(JDBC_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        new PayrollDatasetGenerator(PayrollDatasetGenerator.DEFAULT_SEED, LocalDate.now())
+                .load(List.of(dataSource), new ReferenceDictionaries(List.of(dataSource)), EMPLOYEES);
+
+        try (ConfigurableApplicationContext servlet = new SpringApplicationBuilder(EmployeePayrollManagementApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0", "--spring.datasource.url=" + JDBC_URL, "--spring.datasource.username=sa",
+                        "--spring.datasource.password=", "--spring.jpa.hibernate.ddl-auto=none", "--spring.jpa.open-in-view=false",
+                        "--spring.jpa.show-sql=false", "--logging.level.com.EmployeePayroll=WARN");
+             ConfigurableApplicationContext reactive = new SpringApplicationBuilder(ReactivePayrollApplication.class)
+                     .web(WebApplicationType.REACTIVE)
+                     .run("--server.port=0", "--spring.r2dbc.url=" + R2DBC_URL, "--spring.r2dbc.username=sa",
+                             "--spring.flyway.enabled=false", "--logging.level.com.EmployeePayroll=WARN")) {
+            Map<String, Integer> ports = new LinkedHashMap<>();
+            ports.put("servlet", port(servlet));
+            ports.put("reactive", port(reactive));
+            ports.forEach((stack, port) -> run(stack, port, 32, WARMUP_REQUESTS));
+
+            logger.info("{} employees, {} requests per run", EMPLOYEES, REQUESTS);
+            for (int concurrency : CONCURRENCY) {
+                ports.forEach((stack, port) -> {
+                    Result result = run(stack, port, concurrency, REQUESTS);
+                    logger.info(String.format("%-8s %4d in flight: %6.0f req/s, p50 %6.1f ms, p99 %7.1f ms, peak threads %d",
+                            stack, concurrency, result.throughput(), result.p50Millis(), result.p99Millis(), result.peakThreads()));
+                    assertEquals(0, result.errors(), stack + " failed requests at concurrency " + concurrency);
+                });
+            }
+        }
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getProperty("local.server.port", Integer.class);
+    }
+
+    private static Result run(String stack, int port, int concurrency, int requests) {
+        ConnectionProvider connections = ConnectionProvider.builder("load-" + stack + "-" + concurrency)
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long sent = System.nanoTime();
+                    return client.get().uri(PATHS[i % PATHS.length])
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .onErrorResume(e -> {
+                                errors.incrementAndGet();
+                                return Mono.empty();
+                            })
+                            .doFinally(signal -> latencies[i] = System.nanoTime() - sent);
+                }, concurrency)
+                .blockLast();
+        long elapsed = System.nanoTime() - start;
+        connections.dispose();
+
+        Arrays.sort(latencies);
+        return new Result(requests * 1e9 / elapsed, latencies[requests / 2] / 1e6, latencies[requests * 99 / 100] / 1e6,
+                threads.getPeakThreadCount(), errors.get());
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int peakThreads, int errors) {
+    }
+}
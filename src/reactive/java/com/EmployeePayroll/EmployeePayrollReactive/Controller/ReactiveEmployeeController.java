@@ -0,0 +1,107 @@
+package com.EmployeePayroll.EmployeePayrollReactive.Controller;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Mapper.EmployeeMapper;
+import com.EmployeePayroll.EmployeePayrollReactive.Service.ReactiveEmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code /api/employees} surface of {@code EmployeeController} on WebFlux. List endpoints
+ * stream their rows; ask for application/x-ndjson to receive them one line at a time.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+    private final ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<EmployeeDTO> createEmployee(@RequestBody EmployeeDTO employeeDTO) {
+        log.info("Received request: POST /api/employees with data: {}", employeeDTO);
+        return employeeService.createEmployee(EmployeeMapper.toEntity(employeeDTO))
+                .map(EmployeeMapper::toDTO);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeDTO> getAllEmployees() {
+        log.info("Received request: GET /api/employees");
+        return employeeService.getAllEmployees().map(EmployeeMapper::toDTO);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<EmployeeDTO> getEmployeeById(@PathVariable("id") Long id) {
+        log.info("Received request: GET /api/employees/{}", id);
+        return employeeService.getEmployeeById(id).map(EmployeeMapper::toDTO);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<EmployeeDTO> updateEmployee(@PathVariable("id") Long id, @RequestBody EmployeeDTO employeeDTO) {
+        log.info("Received request: PUT /api/employees/{} with data: {}", id, employeeDTO);
+        return employeeService.updateEmployee(id, EmployeeMapper.toEntity(employeeDTO))
+                .map(EmployeeMapper::toDTO);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteEmployee(@PathVariable("id") Long id) {
+        log.info("Received request: DELETE /api/employees/{}", id);
+        return employeeService.deleteEmployee(id);
+    }
+
+    @GetMapping("/payroll")
+    public Mono<Money> calculateTotalPayroll() {
+        log.info("Received request: GET /api/employees/payroll");
+        return employeeService.calculateTotalPayroll();
+    }
+
+    @GetMapping("/department/{departmentName}/average-salary")
+    public Mono<Money> calculateAverageSalaryByDepartment(@PathVariable String departmentName) {
+        log.info("Received request: GET /api/employees/department/{}/average-salary", departmentName);
+        return employeeService.calculateAverageSalaryByDepartment(departmentName);
+    }
+
+    @GetMapping("/grouped-by-department")
+    public Mono<Map<String, List<String>>> getEmployeesGroupedByDepartment() {
+        log.info("Received request: GET /api/employees/grouped-by-department");
+        return employeeService.getEmployeesGroupedByDepartment();
+    }
+
+    @GetMapping(value = "/top-salaries/{n}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeDTO> getTopNHighestPaidEmployees(@PathVariable int n) {
+        log.info("Received request: GET /api/employees/top-salaries/{}", n);
+        return employeeService.getTopNHighestPaidEmployees(n).map(EmployeeMapper::toDTO);
+    }
+
+    @GetMapping("/payroll/job-title/{jobTitle}")
+    public Mono<Map<String, Object>> calculatePayrollByDesignation(@PathVariable String jobTitle) {
+        log.info("Received request: GET /api/employees/payroll/job-title/{}", jobTitle);
+        return employeeService.calculatePayrollByJobTitle(jobTitle);
+    }
+
+    @GetMapping(value = "/hired-in-last/{months}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> findEmployeesHiredInLastNMonths(@PathVariable int months) {
+        log.info("Received request: GET /api/employees/hired-in-last/{}", months);
+        return employeeService.findEmployeesHiredInLastNMonths(months);
+    }
+
+    @GetMapping("/filter-by-department/{department}")
+    public Mono<List<String>> getEmployeesByDepartment(@PathVariable String department) {
+        log.info("Received request: GET/api/employees/filter-by-department/{}", department);
+        return employeeService.getEmployeesByDepartment(department);
+    }
+}
@@ -0,0 +1,33 @@
+package com.EmployeePayroll.EmployeePayrollReactive;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.GlobalExceptionHandler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking variant of the {@code /api/employees} API on WebFlux and R2DBC, for clients that
+ * keep many requests in flight. It runs as its own application next to the servlet one and
+ * works on the same database, whose schema the servlet application migrates. It lives in its
+ * own package so neither application picks up the other's controllers; build it with
+ * {@code -Preactive}. Error responses come from the shared {@link GlobalExceptionHandler}.
+ *
+ * Only single-database deployments are supported: with payroll.sharding.enabled the
+ * servlet application is the only one that knows the shard layout.
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class})
+@Import(GlobalExceptionHandler.class)
+public class ReactivePayrollApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactivePayrollApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
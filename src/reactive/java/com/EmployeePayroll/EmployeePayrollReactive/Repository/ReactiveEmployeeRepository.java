@@ -0,0 +1,255 @@
+package com.EmployeePayroll.EmployeePayrollReactive.Repository;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ChangeSequence;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceTable;
+import io.r2dbc.spi.Readable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Non-blocking access to the employees schema through R2DBC. Rows are read as the subscriber
+ * requests them, so a slow client holds back the result set instead of buffering it. Reference
+ * names are joined in when reading and looked up by name when writing; a name the table does
+ * not know yet is added first, the same way {@code ReferenceDictionary} numbers new names.
+ * Writes take a change sequence value last in their own transaction, like {@link ChangeSequence}
+ * on the servlet side, so they show up in the change feed. They do not reach the servlet
+ * application's in-memory name and salary indexes, so only one of the two applications may
+ * take writes at a time.
+ */
+@Repository
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_EMPLOYEES = "SELECT e.emp_id, e.name, e.salary_minor, dep.name AS department, "
+            + "des.name AS designation, emt.name AS employment_type, e.hire_date FROM employees e"
+            + " LEFT JOIN departments dep ON dep.id = e.department_id"
+            + " LEFT JOIN designations des ON des.id = e.designation_id"
+            + " LEFT JOIN employment_types emt ON emt.id = e.employment_type_id";
+    private static final int CREATE_ATTEMPTS = 3;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT_EMPLOYEES + " ORDER BY e.emp_id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(long empId) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE e.emp_id = :empId")
+                .bind("empId", empId)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Flux<Employee> findTopBySalary(int n) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " ORDER BY e.salary_minor DESC, e.emp_id LIMIT :n")
+                .bind("n", n)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<Employee> findByDesignation(String designation) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE e.designation_id = " + keyNamed(ReferenceTable.DESIGNATIONS, "designation"))
+                .bind("designation", designation)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<Employee> findHiredAfter(LocalDate cutoff) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE e.hire_date > :cutoff ORDER BY e.emp_id")
+                .bind("cutoff", cutoff)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    /** Designation and salary of every employee, for the payroll reduction. */
+    public Flux<DesignationSalary> findDesignationSalaries() {
+        return databaseClient.sql("SELECT des.name AS designation, e.salary_minor FROM employees e"
+                        + " LEFT JOIN designations des ON des.id = e.designation_id")
+                .map(row -> new DesignationSalary(row.get("designation", String.class), row.get("salary_minor", Long.class)))
+                .all();
+    }
+
+    public Flux<Long> findSalariesByDepartment(String department) {
+        return databaseClient.sql("SELECT salary_minor FROM employees WHERE department_id = "
+                        + keyNamed(ReferenceTable.DEPARTMENTS, "department"))
+                .bind("department", department)
+                .map(row -> row.get("salary_minor", Long.class))
+                .all();
+    }
+
+    public Flux<DepartmentMember> findDepartmentMembers() {
+        return databaseClient.sql("SELECT department_id, name FROM employees")
+                .map(row -> new DepartmentMember(key(row.get("department_id")), row.get("name", String.class)))
+                .all();
+    }
+
+    public Flux<String> findNamesByDepartmentId(short departmentId) {
+        return databaseClient.sql("SELECT name FROM employees WHERE department_id = :departmentId")
+                .bind("departmentId", departmentId)
+                .map(row -> row.get("name", String.class))
+                .all();
+    }
+
+    /** Key of a name already in the table, matched case-insensitively like {@code ReferenceDictionary}. */
+    public Mono<Short> findKey(ReferenceTable table, String name) {
+        return databaseClient.sql("SELECT id FROM " + table.table() + " WHERE LOWER(name) = LOWER(:name)")
+                .bind("name", name)
+                .map(row -> key(row.get("id")))
+                .one();
+    }
+
+    public Mono<Map<Short, String>> findNames(ReferenceTable table) {
+        return databaseClient.sql("SELECT id, name FROM " + table.table())
+                .map(row -> Map.entry(key(row.get("id")), row.get("name", String.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /** Inserts the employee and emits its generated id. */
+    public Mono<Long> insert(Employee employee) {
+        GenericExecuteSpec insert = bindColumns(databaseClient.sql("INSERT INTO employees (name, salary_minor, department_id, "
+                + "designation_id, employment_type_id, hire_date) VALUES (:name, :salaryMinor, " + referenceKeys()
+                + ", :hireDate)"), employee);
+        GenericExecuteSpec bound = bindNullable(insert, "hireDate", employee.getHireDate(), LocalDate.class);
+        // Reference names are committed on their own, as ReferenceDictionary does, so the counter is held only for the write
+        return addReferenceNames(employee)
+                .then(transactionalOperator.transactional(bound
+                        .filter(statement -> statement.returnGeneratedValues("emp_id"))
+                        .map(row -> ((Number) row.get("emp_id")).longValue())
+                        .one()
+                        .flatMap(empId -> stamp(empId).thenReturn(empId))));
+    }
+
+    /** Updates everything but the hire date, like the servlet API; emits the number of rows changed. */
+    public Mono<Long> update(long empId, Employee employee) {
+        GenericExecuteSpec update = bindColumns(databaseClient.sql("UPDATE employees SET name = :name, salary_minor = :salaryMinor, "
+                + "department_id = " + keyNamed(ReferenceTable.DEPARTMENTS, "department") + ", "
+                + "designation_id = " + keyNamed(ReferenceTable.DESIGNATIONS, "designation") + ", "
+                + "employment_type_id = " + keyNamed(ReferenceTable.EMPLOYMENT_TYPES, "employmentType")
+                + " WHERE emp_id = :empId"), employee)
+                .bind("empId", empId);
+        return addReferenceNames(employee)
+                .then(transactionalOperator.transactional(update.fetch()
+                        .rowsUpdated()
+                        .flatMap(rows -> rows == 0 ? Mono.just(rows) : stamp(empId).thenReturn(rows))));
+    }
+
+    /** Deletes the employee and leaves a tombstone for the change feed; emits the number of rows deleted. */
+    public Mono<Long> deleteById(long empId) {
+        return transactionalOperator.transactional(databaseClient.sql("DELETE FROM employees WHERE emp_id = :empId")
+                .bind("empId", empId)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0 ? Mono.just(rows) : nextChangeSeq()
+                        .flatMap(changeSeq -> databaseClient.sql("INSERT INTO employee_tombstones "
+                                        + "(emp_id, change_seq, deleted_at) VALUES (:empId, :changeSeq, :deletedAt)")
+                                .bind("empId", empId)
+                                .bind("changeSeq", changeSeq)
+                                .bind("deletedAt", LocalDateTime.now())
+                                .fetch()
+                                .rowsUpdated())
+                        .thenReturn(rows)));
+    }
+
+    /** Stamps a row written earlier in the same transaction, taking the sequence last like {@link ChangeSequence}. */
+    private Mono<Long> stamp(long empId) {
+        return nextChangeSeq()
+                .flatMap(changeSeq -> databaseClient.sql("UPDATE employees SET change_seq = :changeSeq WHERE emp_id = :empId")
+                        .bind("changeSeq", changeSeq)
+                        .bind("empId", empId)
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    /** Must run inside the writing transaction; the counter row stays locked until it commits. */
+    private Mono<Long> nextChangeSeq() {
+        return databaseClient.sql(ChangeSequence.ADVANCE)
+                .fetch()
+                .rowsUpdated()
+                .then(databaseClient.sql(ChangeSequence.CURRENT)
+                        .map(row -> ((Number) row.get("last_seq")).longValue())
+                        .one());
+    }
+
+    private Mono<Void> addReferenceNames(Employee employee) {
+        return Flux.concat(addName(ReferenceTable.DEPARTMENTS, employee.getDepartment()),
+                        addName(ReferenceTable.DESIGNATIONS, employee.getDesignation()),
+                        addName(ReferenceTable.EMPLOYMENT_TYPES, employee.getEmploymentType()))
+                .then();
+    }
+
+    private Mono<Void> addName(ReferenceTable table, String name) {
+        if (name == null) {
+            return Mono.empty();
+        }
+        String t = table.table();
+        // The next id is read in a derived table, so the NOT EXISTS filters the row rather than the aggregate
+        return databaseClient.sql("INSERT INTO " + t + " (id, name) SELECT next_id, :name FROM (SELECT COALESCE(MAX(id), 0) + 1 "
+                        + "AS next_id FROM " + t + ") n WHERE NOT EXISTS (SELECT 1 FROM " + t + " WHERE LOWER(name) = LOWER(:name))")
+                .bind("name", name)
+                .fetch()
+                .rowsUpdated()
+                // Another writer added this name, or took the next id, at the same time
+                .retryWhen(Retry.max(CREATE_ATTEMPTS - 1).filter(DataIntegrityViolationException.class::isInstance))
+                .then();
+    }
+
+    private static String referenceKeys() {
+        return keyNamed(ReferenceTable.DEPARTMENTS, "department") + ", "
+                + keyNamed(ReferenceTable.DESIGNATIONS, "designation") + ", "
+                + keyNamed(ReferenceTable.EMPLOYMENT_TYPES, "employmentType");
+    }
+
+    private static String keyNamed(ReferenceTable table, String parameter) {
+        return "(SELECT id FROM " + table.table() + " WHERE LOWER(name) = LOWER(:" + parameter + "))";
+    }
+
+    private static GenericExecuteSpec bindColumns(GenericExecuteSpec spec, Employee employee) {
+        spec = spec.bind("name", employee.getName())
+                .bind("salaryMinor", employee.getSalary().minorUnits());
+        spec = bindNullable(spec, "department", employee.getDepartment(), String.class);
+        spec = bindNullable(spec, "designation", employee.getDesignation(), String.class);
+        return bindNullable(spec, "employmentType", employee.getEmploymentType(), String.class);
+    }
+
+    private static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Employee toEmployee(Readable row) {
+        return new Employee(row.get("emp_id", Long.class), row.get("name", String.class),
+                Money.ofMinor(row.get("salary_minor", Long.class)), row.get("department", String.class),
+                row.get("designation", String.class), row.get("employment_type", String.class),
+                row.get("hire_date", LocalDate.class));
+    }
+
+    // SMALLINT comes back as Short or Integer depending on the driver
+    private static Short key(Object value) {
+        return value == null ? null : ((Number) value).shortValue();
+    }
+
+    public record DesignationSalary(String designation, long salaryMinor) {
+    }
+
+    public record DepartmentMember(Short departmentId, String name) {
+    }
+}
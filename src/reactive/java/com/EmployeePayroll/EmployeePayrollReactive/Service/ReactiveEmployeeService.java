@@ -0,0 +1,152 @@
+package com.EmployeePayroll.EmployeePayrollReactive.Service;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceTable;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.PayrollRules;
+import com.EmployeePayroll.EmployeePayrollReactive.Repository.ReactiveEmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The operations of {@code EmployeeService} as reactive pipelines, with the same results and the
+ * same error messages. Aggregates are reductions over the streamed rows, so no request holds a
+ * thread or the full employee list while the database works.
+ */
+@Service
+public class ReactiveEmployeeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeService.class);
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final Map<String, Money> baseSalaryMap = PayrollRules.baseSalaries();
+
+    public ReactiveEmployeeService(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public Mono<Employee> createEmployee(Employee employee) {
+        return employeeRepository.insert(employee)
+                .map(empId -> {
+                    employee.setEmpId(empId);
+                    logger.info("Employee created with ID: {}", empId);
+                    return employee;
+                });
+    }
+
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    public Mono<Employee> getEmployeeById(Long empId) {
+        return employeeRepository.findById(empId)
+                .switchIfEmpty(Mono.error(() -> notFound(empId)));
+    }
+
+    public Mono<Employee> updateEmployee(Long id, Employee updatedEmployeeDetails) {
+        return employeeRepository.update(id, updatedEmployeeDetails)
+                .flatMap(rows -> rows == 0 ? Mono.error(notFound(id)) : employeeRepository.findById(id))
+                .doOnNext(employee -> logger.info("Employee updated with ID: {}", id));
+    }
+
+    public Mono<Void> deleteEmployee(Long id) {
+        return employeeRepository.deleteById(id)
+                .flatMap(rows -> rows == 0 ? Mono.<Void>error(notFound(id)) : Mono.empty())
+                .doOnSuccess(done -> logger.info("Employee with ID {} successfully deleted.", id));
+    }
+
+    public Mono<Money> calculateTotalPayroll() {
+        // Summed as long minor units; addExact throws instead of silently wrapping
+        return employeeRepository.findDesignationSalaries()
+                .reduce(0L, (total, row) -> {
+                    Money baseSalary = baseSalaryMap.get(row.designation());
+                    if (baseSalary == null) {
+                        logger.error("Base salary not found for role: {}", row.designation());
+                        throw new EmployeeNotFoundException("Salary base not found for role: " + row.designation());
+                    }
+                    return Math.addExact(total, Math.addExact(baseSalary.minorUnits(), row.salaryMinor()));
+                })
+                .map(Money::ofMinor);
+    }
+
+    public Mono<Money> calculateAverageSalaryByDepartment(String departmentName) {
+        return employeeRepository.findSalariesByDepartment(departmentName)
+                .reduceWith(() -> new long[2], (totals, salaryMinor) -> {
+                    totals[0] = Math.addExact(totals[0], salaryMinor);
+                    totals[1]++;
+                    return totals;
+                })
+                .flatMap(totals -> totals[1] == 0
+                        ? Mono.error(new EmployeeNotFoundException("No Employee Present in this Department"))
+                        : Mono.just(Money.average(totals[0], totals[1])));
+    }
+
+    public Mono<Map<String, List<String>>> getEmployeesGroupedByDepartment() {
+        // Grouped on the department key; the names are joined in once per group
+        Mono<Map<Short, List<String>>> namesByDepartmentId = employeeRepository.findDepartmentMembers()
+                .collect(HashMap::new, (groups, member) -> groups
+                        .computeIfAbsent(member.departmentId(), key -> new ArrayList<>())
+                        .add(member.name()));
+        return namesByDepartmentId
+                .zipWith(employeeRepository.findNames(ReferenceTable.DEPARTMENTS), (groups, departments) -> {
+                    Map<String, List<String>> employeesGrouped = new HashMap<>();
+                    groups.forEach((departmentId, names) -> employeesGrouped.put(departments.get(departmentId), names));
+                    return employeesGrouped;
+                })
+                .filter(employeesGrouped -> !employeesGrouped.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException("No Employees found in any Department")));
+    }
+
+    public Flux<Employee> getTopNHighestPaidEmployees(int n) {
+        return employeeRepository.findTopBySalary(n);
+    }
+
+    public Mono<Map<String, Object>> calculatePayrollByJobTitle(String jobTitle) {
+        return Mono.fromCallable(() -> PayrollRules.requireJobTitle(jobTitle))
+                // Names differing only in case share a key, so the title also has to be the stored spelling
+                .flatMap(title -> employeeRepository.findByDesignation(title)
+                        .filter(employee -> title.equals(employee.getDesignation()))
+                        .collectList())
+                .flatMap(employees -> {
+                    if (employees.isEmpty()) {
+                        return Mono.<Map<String, Object>>error(
+                                new EmployeeNotFoundException("No employee found with the designation: " + jobTitle));
+                    }
+                    if (baseSalaryMap.get(jobTitle) == null) {
+                        return Mono.<Map<String, Object>>error(
+                                new EmployeeNotFoundException("No base salary defined for job title: " + jobTitle));
+                    }
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("Designation/JobTitle", jobTitle);
+                    result.put("Employees", employees);
+                    return Mono.just(result);
+                });
+    }
+
+    public Flux<Employee> findEmployeesHiredInLastNMonths(int months) {
+        return Flux.defer(() -> employeeRepository.findHiredAfter(LocalDate.now().minusMonths(months)));
+    }
+
+    public Mono<List<String>> getEmployeesByDepartment(String department) {
+        // The name matches case-insensitively; the employees are then found by key
+        return employeeRepository.findKey(ReferenceTable.DEPARTMENTS, department)
+                .flatMap(departmentId -> employeeRepository.findNamesByDepartmentId(departmentId).collectList())
+                .filter(names -> !names.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException("No employee found in the Department: " + department)));
+    }
+
+    private static EmployeeNotFoundException notFound(Long empId) {
+        logger.error("Employee with ID {} not found.", empId);
+        return new EmployeeNotFoundException("Employee with ID " + empId + " not found");
+    }
+}
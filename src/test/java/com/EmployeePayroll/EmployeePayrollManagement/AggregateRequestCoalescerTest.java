@@ -0,0 +1,148 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.ServiceBusyException;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository.DesignationTotals;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionary;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.AggregateRequestCoalescer;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AggregateRequestCoalescerTest {
+
+    private EmployeeRepository employeeRepository;
+    private ReferenceDictionaries referenceDictionaries;
+    private EmployeeService employeeService;
+    private final AtomicInteger totalsQueries = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        referenceDictionaries = mock(ReferenceDictionaries.class);
+        employeeService = new EmployeeService(employeeRepository, mock(ApplicationEventPublisher.class),
+                ShardRouter.singleShard(), referenceDictionaries);
+        ReferenceDictionary designations = mock(ReferenceDictionary.class);
+        when(referenceDictionaries.designations()).thenReturn(designations);
+        when(designations.nameOf((short) 1)).thenReturn("JuniorEngineer");
+        when(designations.nameOf((short) 2)).thenReturn("HR");
+        List<DesignationTotals> totals = Arrays.asList(designationTotals(1, 230045), designationTotals(2, 210045));
+        when(employeeRepository.salaryTotalsByDesignationId()).thenAnswer(invocation -> {
+            totalsQueries.incrementAndGet();
+            Thread.sleep(200); // simulate a slow aggregate query
+            return totals;
+        });
+    }
+
+    @Test
+    void databaseQueryCountStaysFlatAsConcurrencyRises() throws Exception {
+        AggregateRequestCoalescer coalescer = new AggregateRequestCoalescer(4, 1000);
+
+        for (int concurrency : new int[]{1, 8, 32, 128}) {
+            totalsQueries.set(0);
+            List<Money> results = runConcurrently(concurrency,
+                    () -> coalescer.execute("payroll", employeeService::calculateTotalPayroll));
+
+            assertEquals(concurrency, results.size());
+            assertTrue(results.stream().allMatch(result -> result.equals(results.get(0))));
+            assertEquals(1, totalsQueries.get(), "payroll queries at concurrency " + concurrency);
+        }
+        assertEquals(4, coalescer.availablePermits());
+    }
+
+    @Test
+    void completedComputationIsNotCached() {
+        AggregateRequestCoalescer coalescer = new AggregateRequestCoalescer(4, 1000);
+        coalescer.execute("payroll", employeeService::calculateTotalPayroll);
+        coalescer.execute("payroll", employeeService::calculateTotalPayroll);
+        assertEquals(2, totalsQueries.get());
+    }
+
+    @Test
+    void failureIsPropagatedWithOriginalType() {
+        AggregateRequestCoalescer coalescer = new AggregateRequestCoalescer(4, 1000);
+        ReferenceDictionary departments = mock(ReferenceDictionary.class);
+        when(referenceDictionaries.departments()).thenReturn(departments);
+        when(departments.findId("Marketing")).thenReturn(Optional.empty());
+        Exception ex = assertThrows(EmployeeNotFoundException.class,
+                () -> coalescer.execute("average-salary:Marketing",
+                        () -> employeeService.calculateAverageSalaryByDepartment("Marketing")));
+        assertEquals("No Employee Present in this Department", ex.getMessage());
+    }
+
+    @Test
+    void saturatedBulkheadRejectsFast() throws Exception {
+        AggregateRequestCoalescer coalescer = new AggregateRequestCoalescer(1, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> blocking = executor.submit(() -> coalescer.execute("grouped-by-department", () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "done";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(ServiceBusyException.class,
+                    () -> coalescer.execute("payroll", employeeService::calculateTotalPayroll));
+            verify(employeeRepository, never()).salaryTotalsByDesignationId();
+
+            release.countDown();
+            assertEquals("done", blocking.get(5, TimeUnit.SECONDS));
+            assertEquals(1, coalescer.availablePermits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DesignationTotals designationTotals(int designationId, long totalMinor) {
+        DesignationTotals totals = mock(DesignationTotals.class);
+        when(totals.getDesignationId()).thenReturn(designationId);
+        when(totals.getTotalMinor()).thenReturn(BigDecimal.valueOf(totalMinor));
+        when(totals.getHeadcount()).thenReturn(1L);
+        return totals;
+    }
+
+    private <T> List<T> runConcurrently(int threads, Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Config.ShardingConfiguration.ShardDataSources;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryRevisionJob;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryRevisionRequest;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.ChangesExpiredException;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeChangeService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.SalaryRevisionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Syncs through the change feed against two embedded H2 shards, the way a client would:
+ * once from scratch, then from the returned token after every round of writes.
+ */
+@SpringBootTest(properties = {
+        "payroll.sharding.enabled=true",
+        "payroll.sharding.shards[0].url=jdbc:h2:mem:payroll_changes0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[0].username=sa",
+        "payroll.sharding.shards[1].url=jdbc:h2:mem:payroll_changes1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[1].username=sa",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.open-in-view=false"
+})
+class EmployeeChangeServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeServiceTest.class);
+
+    @Autowired
+    private EmployeeChangeService employeeChangeService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private SalaryRevisionService salaryRevisionService;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ReferenceDictionaries referenceDictionaries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void clearShards() {
+        shardDataSources.shards().forEach(shard -> {
+            JdbcTemplate template = new JdbcTemplate(shard);
+            template.update("DELETE FROM employees");
+            template.update("DELETE FROM employee_tombstones");
+            template.update("UPDATE employee_change_sequence SET last_seq = 0, compacted_seq = 0 WHERE id = 1");
+        });
+    }
+
+    @Test
+    void createsUpdatesAndDeletesAppearOnceSinceTheToken() throws IOException {
+        Employee alice = employeeService.createEmployee(employee("Alice", "2300.45"));
+        JsonNode first = page(null, null);
+        assertEquals(List.of(alice.getEmpId()), upsertIds(first));
+        assertEquals("Alice", first.get("changes").get(0).get("employee").get("name").asText());
+        assertFalse(first.get("hasMore").asBoolean());
+
+        Employee bob = employeeService.createEmployee(employee("Bob", "4100.00"));
+        Employee update = employee("Alice", "2500.00");
+        update.setHireDate(alice.getHireDate());
+        employeeService.updateEmployee(alice.getEmpId(), update);
+        employeeService.updateEmployee(alice.getEmpId(), update);
+        JsonNode second = page(first.get("next").asText(), null);
+        assertEquals(Set.of(alice.getEmpId(), bob.getEmpId()), new HashSet<>(upsertIds(second)));
+        assertEquals(2, second.get("changes").size());
+
+        employeeService.deleteEmployee(bob.getEmpId());
+        JsonNode third = page(second.get("next").asText(), null);
+        assertEquals(1, third.get("changes").size());
+        assertEquals("DELETE", third.get("changes").get(0).get("type").asText());
+        assertEquals(bob.getEmpId(), third.get("changes").get(0).get("empId").asLong());
+
+        JsonNode fourth = page(third.get("next").asText(), null);
+        assertEquals(0, fourth.get("changes").size());
+        assertEquals(third.get("next").asText(), fourth.get("next").asText());
+    }
+
+    @Test
+    void pagesFollowTheNextTokenUntilNothingIsLeft() throws IOException {
+        Set<Long> created = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(employeeService.createEmployee(employee("Employee " + i, "3000.00")).getEmpId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String since = null;
+        int pages = 0;
+        JsonNode page;
+        do {
+            page = page(since, 3);
+            assertTrue(page.get("changes").size() <= 3);
+            seen.addAll(upsertIds(page));
+            since = page.get("next").asText();
+            pages++;
+        } while (page.get("hasMore").asBoolean());
+
+        assertEquals(created.size(), seen.size());
+        assertEquals(created, new HashSet<>(seen));
+        assertTrue(pages >= 3);
+    }
+
+    @Test
+    void bulkRevisionsAreStampedForTheFeed() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Employee employee = employee("Employee " + i, "3000.00");
+            employee.setDepartment(i % 2 == 0 ? "IT" : "HR");
+            ids.add(employeeService.createEmployee(employee).getEmpId());
+        }
+        String since = page(null, null).get("next").asText();
+
+        SalaryRevisionJob job = salaryRevisionService.submit(new SalaryRevisionRequest("IT", null, new BigDecimal("5"), null, false));
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (job.getStatus() == SalaryRevisionJob.Status.QUEUED || job.getStatus() == SalaryRevisionJob.Status.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "Revision " + job.getId() + " did not finish");
+            Thread.sleep(10);
+        }
+
+        JsonNode changes = page(since, null);
+        assertEquals(Set.of(ids.get(0), ids.get(2), ids.get(4)), new HashSet<>(upsertIds(changes)));
+        for (JsonNode change : changes.get("changes")) {
+            assertEquals(0, new BigDecimal("3150.00").compareTo(change.get("employee").get("salary").decimalValue()));
+        }
+    }
+
+    @Test
+    void tokensOlderThanCompactedTombstonesMustResync() throws IOException {
+        Employee alice = employeeService.createEmployee(employee("Alice", "2300.45"));
+        String since = page(null, null).get("next").asText();
+        employeeService.deleteEmployee(alice.getEmpId());
+
+        assertEquals(1, employeeChangeService.compact(Instant.now().plusSeconds(60)));
+
+        assertThrows(ChangesExpiredException.class, () -> employeeChangeService.plan(since, null));
+        JsonNode resync = page(null, null);
+        assertEquals(0, resync.get("changes").size());
+        assertDoesNotThrow(() -> employeeChangeService.plan(resync.get("next").asText(), null));
+    }
+
+    @Test
+    void invalidRequestsAreRejectedUpFront() {
+        assertThrows(IllegalArgumentException.class, () -> employeeChangeService.plan("not a token", null));
+        assertThrows(IllegalArgumentException.class, () -> employeeChangeService.plan(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> employeeChangeService.plan(null, EmployeeChangeService.MAX_LIMIT + 1));
+    }
+
+    @Test
+    @Tag("performance")
+    void deltaSyncCostsWhatChanged() throws IOException {
+        int employees = 1_000_000;
+        new PayrollDatasetGenerator(PayrollDatasetGenerator.DEFAULT_SEED, LocalDate.of(2026, 1, 1))
+                .load(shardDataSources.shards(), referenceDictionaries, employees);
+
+        long fullStart = System.nanoTime();
+        Sync full = sync(null);
+        long fullMillis = (System.nanoTime() - fullStart) / 1_000_000;
+        assertEquals(employees, full.upserts.size());
+
+        // 1% churn: 8,000 updates, 1,000 creates and 1,000 deletes
+        Random random = new Random(42);
+        Set<Long> updated = new HashSet<>();
+        while (updated.size() < 8_000) {
+            updated.add(1 + (long) random.nextInt(employees));
+        }
+        Set<Long> deleted = new HashSet<>();
+        while (deleted.size() < 1_000) {
+            long id = 1 + (long) random.nextInt(employees);
+            if (!updated.contains(id)) {
+                deleted.add(id);
+            }
+        }
+        for (long id : updated) {
+            Employee employee = employeeService.getEmployeeById(id).orElseThrow();
+            employee.setSalary(employee.getSalary().plus(Money.of("10.00")));
+            employeeService.updateEmployee(id, employee);
+        }
+        deleted.forEach(employeeService::deleteEmployee);
+        Set<Long> created = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            created.add(employeeService.createEmployee(employee("New hire " + i, "4000.00")).getEmpId());
+        }
+
+        long deltaStart = System.nanoTime();
+        Sync delta = sync(full.next);
+        long deltaMillis = (System.nanoTime() - deltaStart) / 1_000_000;
+        logger.info("full sync: {} rows, {} KiB, {} ms", full.upserts.size(), full.bytes / 1024, fullMillis);
+        logger.info("delta sync: {} upserts, {} deletes, {} KiB, {} ms",
+                delta.upserts.size(), delta.deletes.size(), delta.bytes / 1024, deltaMillis);
+
+        Set<Long> expectedUpserts = new HashSet<>(updated);
+        expectedUpserts.addAll(created);
+        assertEquals(expectedUpserts, delta.upserts);
+        assertEquals(deleted, delta.deletes);
+        assertTrue(delta.bytes * 50 < full.bytes, "delta sync is not under 2% of a full sync");
+        assertTrue(deltaMillis * 10 < fullMillis, "delta sync took " + deltaMillis + " ms, full sync " + fullMillis + " ms");
+    }
+
+    private Sync sync(String since) throws IOException {
+        Sync sync = new Sync();
+        JsonNode page;
+        do {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            employeeChangeService.writeJson(employeeChangeService.plan(since, EmployeeChangeService.MAX_LIMIT), out);
+            sync.bytes += out.size();
+            page = objectMapper.readTree(out.toByteArray());
+            for (JsonNode change : page.get("changes")) {
+                if ("DELETE".equals(change.get("type").asText())) {
+                    assertTrue(sync.deletes.add(change.get("empId").asLong()));
+                } else {
+                    assertTrue(sync.upserts.add(change.get("employee").get("empId").asLong()));
+                }
+            }
+            since = page.get("next").asText();
+        } while (page.get("hasMore").asBoolean());
+        sync.next = since;
+        return sync;
+    }
+
+    private JsonNode page(String since, Integer limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        employeeChangeService.writeJson(employeeChangeService.plan(since, limit), out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private static List<Long> upsertIds(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode change : page.get("changes")) {
+            assertEquals("UPSERT", change.get("type").asText());
+            ids.add(change.get("employee").get("empId").asLong());
+        }
+        return ids;
+    }
+
+    private static Employee employee(String name, String salary) {
+        return new Employee(null, name, Money.of(salary), "IT", "SeniorEngineer", "Full-Time", LocalDate.of(2024, 1, 1));
+    }
+
+    private static class Sync {
+        private final Set<Long> upserts = new HashSet<>();
+        private final Set<Long> deletes = new HashSet<>();
+        private long bytes;
+        private String next;
+    }
+}
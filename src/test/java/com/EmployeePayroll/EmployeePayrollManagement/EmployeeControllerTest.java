@@ -3,7 +3,9 @@ package com.EmployeePayroll.EmployeePayrollManagement;
 import com.EmployeePayroll.EmployeePayrollManagement.Controller.EmployeeController;
 import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
 import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
 import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.AggregateRequestCoalescer;
 import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
@@ -25,6 +28,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
+@Import(AggregateRequestCoalescer.class)
 public class EmployeeControllerTest {
 
     @Autowired
@@ -41,14 +45,14 @@ public class EmployeeControllerTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        employee1 = new Employee(1L, "Alice", 2300.45, "IT", "Junior", "Full-Time", LocalDate.of(2023, 1, 1));
-        employee2 = new Employee(2L, "Clary", 2100.45, "HR", "HR", "Part-Time", LocalDate.of(2024, 10, 17));
+        employee1 = new Employee(1L, "Alice", Money.of("2300.45"), "IT", "Junior", "Full-Time", LocalDate.of(2023, 1, 1));
+        employee2 = new Employee(2L, "Clary", Money.of("2100.45"), "HR", "HR", "Part-Time", LocalDate.of(2024, 10, 17));
     }
 
     @Test
     void createEmployeeTest() throws Exception {
-        EmployeeDTO employeeDTO = new EmployeeDTO(1L, "Alice", 2300.45, "IT", "Junior", "Full-Time", LocalDate.of(2023, 1, 1));
-        Employee createdEmployee = new Employee(1L, "Alice", 2300.45, "IT", "Junior", "Full-Time", LocalDate.of(2023, 1, 1));
+        EmployeeDTO employeeDTO = new EmployeeDTO(1L, "Alice", Money.of("2300.45"), "IT", "Junior", "Full-Time", LocalDate.of(2023, 1, 1));
+        Employee createdEmployee = new Employee(1L, "Alice", Money.of("2300.45"), "IT", "Junior", "Full-Time", LocalDate.of(2023, 1, 1));
 
         when(employeeService.createEmployee(any(Employee.class))).thenReturn(createdEmployee);
 
@@ -65,6 +69,19 @@ public class EmployeeControllerTest {
     }
 
 
+    @Test
+    void createEmployeeWithoutSalaryStoresZeroTest() throws Exception {
+        when(employeeService.createEmployee(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alice\",\"department\":\"IT\",\"designation\":\"Junior\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.salary").value(0.0));
+
+        verify(employeeService).createEmployee(argThat(employee -> Money.ZERO.equals(employee.getSalary())));
+    }
+
     @Test
     void getAllEmployeesTest() throws Exception {
         List<Employee> employeeList = Arrays.asList(employee1, employee2);
@@ -90,8 +107,8 @@ public class EmployeeControllerTest {
 
     @Test
     void updateEmployeeTest() throws Exception {
-        EmployeeDTO employeeDTO = new EmployeeDTO(1L, "Alice Updated", 2500.67, "IT", "Senior", "FullTime", LocalDate.of(2023, 1, 1));
-        Employee updatedEmployee = new Employee(1L, "Alice Updated", 2500.67, "IT", "Senior", "FullTime", LocalDate.of(2023, 1, 1));
+        EmployeeDTO employeeDTO = new EmployeeDTO(1L, "Alice Updated", Money.of("2500.67"), "IT", "Senior", "FullTime", LocalDate.of(2023, 1, 1));
+        Employee updatedEmployee = new Employee(1L, "Alice Updated", Money.of("2500.67"), "IT", "Senior", "FullTime", LocalDate.of(2023, 1, 1));
 
         when(employeeService.updateEmployee(anyLong(), any(Employee.class))).thenReturn(Optional.of(updatedEmployee));
 
@@ -106,12 +123,12 @@ public class EmployeeControllerTest {
 
     @Test
     void calculateTotalPayrollTest() throws Exception {
-        double sumTotal = employee1.getSalary() + employee2.getSalary();
+        Money sumTotal = employee1.getSalary().plus(employee2.getSalary());
         when(employeeService.calculateTotalPayroll()).thenReturn(sumTotal);
 
         mockMvc.perform(get("/api/employees/payroll"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(String.valueOf(sumTotal)));
+                .andExpect(content().string("4400.90"));
 
         verify(employeeService).calculateTotalPayroll();
     }
@@ -0,0 +1,172 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeSearchHit;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeChangedEvent;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeNameIndex;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EmployeeNameIndexTest {
+
+    private EmployeeNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeNameIndex(mock(EmployeeService.class));
+        index.rebuild(Arrays.asList(
+                new Employee(1L, "Alice Johnson", Money.of("2300.45"), "IT", "JuniorEngineer", "Full-Time", LocalDate.of(2023, 1, 1)),
+                new Employee(2L, "Alicia Keys", Money.of("2100.45"), "HR", "HR", "Part-Time", LocalDate.of(2024, 10, 17)),
+                new Employee(3L, "Bob Alison", Money.of("3100.00"), "IT", "SeniorEngineer", "Full-Time", LocalDate.of(2022, 5, 3)),
+                new Employee(4L, "Clary Fray", Money.of("2500.00"), "Finance", "Analyst", "Full-Time", LocalDate.of(2021, 7, 9))));
+    }
+
+    @Test
+    void prefixSearchRanksExactAndShorterCompletionsFirst() {
+        List<EmployeeSearchHit> hits = index.search("ali", null, 10, false);
+        assertEquals(List.of(1L, 2L, 3L), ids(hits));
+        assertEquals(List.of(1L), ids(index.search("alice", null, 10, false)));
+    }
+
+    @Test
+    void allQueryTokensMustMatch() {
+        assertEquals(List.of(1L), ids(index.search("alice jo", null, 10, false)));
+        assertTrue(index.search("alice fray", null, 10, false).isEmpty());
+    }
+
+    @Test
+    void fuzzySearchToleratesTypos() {
+        assertTrue(index.search("clery", null, 10, false).isEmpty());
+        assertEquals(List.of(4L), ids(index.search("clery", null, 10, true)));
+        assertEquals(List.of(1L), ids(index.search("jonhson", null, 10, true)));
+    }
+
+    @Test
+    void departmentFilterAndLimitAreApplied() {
+        assertEquals(List.of(1L, 3L), ids(index.search("ali", "it", 10, false)));
+        assertEquals(1, index.search("ali", null, 1, false).size());
+    }
+
+    @Test
+    void indexIsUpdatedIncrementally() {
+        index.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.CREATED, 5L, null,
+                new EmployeeDTO(5L, "Zed Alistair", Money.of("1000.00"), "Ops", "Tester", "Contract", LocalDate.of(2024, 1, 1))));
+        assertEquals(List.of(5L), ids(index.search("zed", null, 10, false)));
+
+        index.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, 1L, null,
+                new EmployeeDTO(1L, "Alice Smith", Money.of("2300.45"), "IT", "JuniorEngineer", "Full-Time", LocalDate.of(2023, 1, 1))));
+        assertTrue(index.search("johnson", null, 10, false).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("smith", null, 10, false)));
+
+        index.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.DELETED, 2L, null, null));
+        assertTrue(index.search("keys", null, 10, false).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void broadPrefixKeepsBestCompletionsBeyondExpansionCap() {
+        List<Employee> employees = new ArrayList<>();
+        // 600 long completions sort before the short one, which used to be cut off
+        for (int i = 0; i < 600; i++) {
+            employees.add(new Employee((long) i + 1, "Maaa" + String.format("%04d", i), Money.of("1000.00"),
+                    "IT", "Tester", "Full-Time", LocalDate.of(2024, 1, 1)));
+        }
+        employees.add(new Employee(1000L, "Max Payne", Money.of("1000.00"), "IT", "Tester", "Full-Time",
+                LocalDate.of(2024, 1, 1)));
+        index.rebuild(employees);
+
+        assertEquals(List.of(1000L), ids(index.search("ma", null, 1, false)));
+    }
+
+    @Test
+    void changesMadeWhileTheTableIsReadSurviveTheStartupRebuild() {
+        EmployeeService employeeService = mock(EmployeeService.class);
+        EmployeeNameIndex rebuilding = new EmployeeNameIndex(employeeService);
+        Employee alice = new Employee(1L, "Alice Johnson", Money.of("2300.45"), "IT", "JuniorEngineer", "Full-Time", LocalDate.of(2023, 1, 1));
+        Employee bob = new Employee(2L, "Bob Stone", Money.of("2100.45"), "HR", "HR", "Part-Time", LocalDate.of(2024, 10, 17));
+        when(employeeService.getAllEmployees()).thenAnswer(invocation -> {
+            // Both writes commit after the read, so the rows returned below are stale
+            rebuilding.upsert(1L, "Alice Cooper", "IT");
+            rebuilding.remove(2L);
+            rebuilding.upsert(3L, "Carol Danvers", "Finance");
+            return List.of(alice, bob);
+        });
+
+        rebuilding.rebuildOnStartup();
+
+        assertEquals(List.of(1L), ids(rebuilding.search("cooper", null, 10, false)));
+        assertTrue(rebuilding.search("johnson", null, 10, false).isEmpty());
+        assertTrue(rebuilding.search("bob", null, 10, false).isEmpty());
+        assertEquals(List.of(3L), ids(rebuilding.search("carol", null, 10, false)));
+        assertEquals(2, rebuilding.size());
+    }
+
+    @Test
+    @Tag("performance")
+    void p99LatencyStaysUnderOneMillisecondAtOneMillionEmployees() {
+        Random random = new Random(42);
+        String[] first = syllableWords(random, 400);
+        String[] last = syllableWords(random, 2000);
+        List<Employee> employees = new ArrayList<>(1_000_000);
+        String[] departments = {"IT", "HR", "Finance", "Sales", "Ops"};
+        for (long id = 1; id <= 1_000_000; id++) {
+            employees.add(new Employee(id, first[random.nextInt(first.length)] + " " + last[random.nextInt(last.length)],
+                    Money.of("1000.00"), departments[random.nextInt(departments.length)], "Tester", "Full-Time", null));
+        }
+        index.rebuild(employees);
+
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Employee employee = employees.get(random.nextInt(employees.size()));
+            String[] parts = employee.getName().split(" ");
+            switch (i % 3) {
+                case 0 -> queries.add(parts[1].substring(0, Math.min(4, parts[1].length())));
+                case 1 -> queries.add(parts[0] + " " + parts[1].substring(0, 2));
+                default -> queries.add(parts[1].substring(1));
+            }
+        }
+        for (String query : queries) { // JIT warm-up
+            index.search(query, null, 10, true);
+        }
+        long[] latencies = new long[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            long start = System.nanoTime();
+            index.search(queries.get(i), i % 5 == 0 ? "IT" : null, 10, true);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) (latencies.length * 0.99)];
+        assertTrue(p99 < 1_000_000, "p99 search latency was " + p99 / 1000 + " us");
+    }
+
+    private static String[] syllableWords(Random random, int count) {
+        String[] syllables = {"al", "ber", "cla", "dor", "el", "fin", "gar", "han", "is", "jo", "ka", "lin",
+                "mar", "nor", "ol", "per", "qui", "ros", "sa", "tor", "ul", "van", "wen", "xa", "yor", "zel"};
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < count) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(2);
+            for (int i = 0; i < length; i++) {
+                word.append(syllables[random.nextInt(syllables.length)]);
+            }
+            words.add(Character.toUpperCase(word.charAt(0)) + word.substring(1));
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static List<Long> ids(List<EmployeeSearchHit> hits) {
+        return hits.stream().map(EmployeeSearchHit::getEmpId).collect(Collectors.toList());
+    }
+}
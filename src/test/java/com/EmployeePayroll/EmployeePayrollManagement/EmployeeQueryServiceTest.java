@@ -0,0 +1,216 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Config.ShardingConfiguration.ShardDataSources;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeQuery;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeQueryService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the query endpoint against two embedded H2 shards, so sorted results are merged.
+ * IGNORECASE gives H2 the case-insensitive string ordering of MySQL.
+ */
+@SpringBootTest(properties = {
+        "payroll.sharding.enabled=true",
+        "payroll.sharding.shards[0].url=jdbc:h2:mem:payroll_query0;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[0].username=sa",
+        "payroll.sharding.shards[1].url=jdbc:h2:mem:payroll_query1;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[1].username=sa",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.open-in-view=false"
+})
+@AutoConfigureMockMvc
+class EmployeeQueryServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeQueryServiceTest.class);
+
+    private static final String[] DESIGNATIONS = {"Manager", "HR", "JuniorEngineer", "SeniorEngineer", "Tester", "Analyst"};
+    private static final String[] TYPES = {"Full-Time", "Part-Time", "Contract"};
+
+    @Autowired
+    private EmployeeQueryService employeeQueryService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ReferenceDictionaries referenceDictionaries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void clearShards() {
+        shardDataSources.shards().forEach(shard -> new JdbcTemplate(shard).update("DELETE FROM employees"));
+    }
+
+    @Test
+    void combinedFiltersSortAndLimitMatchAnInMemoryEvaluation() throws Exception {
+        List<Employee> created = createEmployees(60);
+        EmployeeQuery query = new EmployeeQuery("IT", null, "Full-Time", Money.of("1100.00"), Money.of("1900.00"),
+                LocalDate.of(2024, 1, 10), LocalDate.of(2024, 2, 20), "salary,desc", 5, null);
+
+        List<Map<String, Object>> rows = run(query);
+
+        List<Long> expected = created.stream()
+                .filter(e -> e.getDepartment().equals("IT") && e.getEmploymentType().equals("Full-Time"))
+                .filter(e -> e.getSalary().compareTo(Money.of("1100.00")) >= 0 && e.getSalary().compareTo(Money.of("1900.00")) <= 0)
+                .filter(e -> !e.getHireDate().isBefore(LocalDate.of(2024, 1, 10)) && !e.getHireDate().isAfter(LocalDate.of(2024, 2, 20)))
+                .sorted(Comparator.comparing(Employee::getSalary).reversed().thenComparing(Employee::getEmpId))
+                .limit(5)
+                .map(Employee::getEmpId)
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, rows.stream().map(row -> ((Number) row.get("empId")).longValue()).collect(Collectors.toList()));
+        assertEquals(Set.of("empId", "name", "salary", "department", "designation", "employmentType", "hireDate"), rows.get(0).keySet());
+    }
+
+    @Test
+    void onlyTheRequestedFieldsAreReturned() throws Exception {
+        createEmployees(10);
+
+        List<Map<String, Object>> rows = run(new EmployeeQuery(null, null, null, null, null, null, null, "name", null, List.of("name")));
+
+        assertEquals(10, rows.size());
+        rows.forEach(row -> assertEquals(Set.of("name"), row.keySet()));
+        List<String> names = rows.stream().map(row -> (String) row.get("name")).collect(Collectors.toList());
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(String.CASE_INSENSITIVE_ORDER);
+        assertEquals(sorted, names);
+    }
+
+    @Test
+    void invalidQueriesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> employeeQueryService.plan(
+                new EmployeeQuery(null, null, null, null, null, null, null, null, null, List.of("password"))));
+        assertThrows(IllegalArgumentException.class, () -> employeeQueryService.plan(
+                new EmployeeQuery(null, null, null, null, null, null, null, "salary,sideways", null, null)));
+        assertThrows(IllegalArgumentException.class, () -> employeeQueryService.plan(
+                new EmployeeQuery(null, null, null, Money.of("10.00"), Money.of("5.00"), null, null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> employeeQueryService.plan(
+                new EmployeeQuery(null, null, null, null, null, null, null, null, 0, null)));
+    }
+
+    @Test
+    void endpointBindsQueryParametersAndStreamsJson() throws Exception {
+        createEmployees(12);
+
+        MvcResult result = mockMvc.perform(get("/api/employees/query")
+                        .param("department", "HR")
+                        .param("minSalary", "1000.00")
+                        .param("hiredFrom", "2024-01-01")
+                        .param("sort", "empId,desc")
+                        .param("fields", "empId,salary"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(6)))
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(jsonPath("$[0].salary").isNumber());
+
+        mockMvc.perform(get("/api/employees/query").param("fields", "ssn"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Tag("performance")
+    void queryEndpointVersusPerFilterEndpoints() throws Exception {
+        int employees = 200_000;
+        for (int shard = 0; shard < shardDataSources.shards().size(); shard++) {
+            List<Object[]> rows = new ArrayList<>();
+            for (long id = shard + 1; id <= employees; id += shardDataSources.shards().size()) {
+                rows.add(new Object[]{id, "Employee " + id, 100_000 + id % 5_000 * 100,
+                        referenceDictionaries.departments().idFor(id % 5 == 0 ? "IT" : "HR"),
+                        referenceDictionaries.designations().idFor(DESIGNATIONS[(int) (id % DESIGNATIONS.length)]),
+                        referenceDictionaries.employmentTypes().idFor(TYPES[(int) (id % TYPES.length)]),
+                        Date.valueOf(LocalDate.now().minusDays(id % 3_650))});
+            }
+            new JdbcTemplate(shardDataSources.shards().get(shard)).batchUpdate("INSERT INTO employees "
+                    + "(emp_id, name, salary_minor, department_id, designation_id, employment_type_id, hire_date) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+
+        EmployeeQuery byDepartment = new EmployeeQuery("IT", null, null, null, null, null, null, null, null, List.of("name"));
+        EmployeeQuery recentHires = new EmployeeQuery(null, null, null, null, null, LocalDate.now().minusMonths(3).plusDays(1), null, null, null, null);
+        for (int warmup = 0; warmup < 3; warmup++) {
+            employeeService.getEmployeesByDepartment("IT");
+            employeeService.findEmployeesHiredInLastNMonths(3);
+            run(byDepartment);
+            run(recentHires);
+        }
+
+        long perFilterDepartment = time(() -> employeeService.getEmployeesByDepartment("IT"));
+        long queryDepartment = time(() -> run(byDepartment));
+        long perFilterHires = time(() -> employeeService.findEmployeesHiredInLastNMonths(3));
+        long queryHires = time(() -> run(recentHires));
+        logger.info("department=IT names: filter-by-department {} ms, query {} ms", perFilterDepartment, queryDepartment);
+        logger.info("hired in last 3 months: hired-in-last {} ms, query {} ms", perFilterHires, queryHires);
+
+        assertEquals(employeeService.findEmployeesHiredInLastNMonths(3).size(), run(recentHires).size());
+        assertTrue(queryDepartment < perFilterDepartment, "query endpoint slower than filter-by-department");
+        assertTrue(queryHires < perFilterHires, "query endpoint slower than hired-in-last");
+    }
+
+    private List<Map<String, Object>> run(EmployeeQuery query) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        employeeQueryService.writeJson(employeeQueryService.plan(query), out);
+        return objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+        });
+    }
+
+    private static long time(ThrowingRunnable work) throws Exception {
+        long start = System.nanoTime();
+        work.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private List<Employee> createEmployees(int count) {
+        List<Employee> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee(null, (i % 2 == 0 ? "employee " : "Employee ") + (char) ('a' + i % 26) + i,
+                    Money.of(BigDecimal.valueOf(1_000 + (i * 37 % 101) * 10L)), i % 2 == 0 ? "IT" : "HR",
+                    DESIGNATIONS[i % DESIGNATIONS.length], TYPES[i % TYPES.length], LocalDate.of(2024, 1, 1).plusDays(i));
+            created.add(employeeService.createEmployee(employee));
+        }
+        return created;
+    }
+}
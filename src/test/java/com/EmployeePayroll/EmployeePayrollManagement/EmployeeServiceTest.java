@@ -1,16 +1,26 @@
 package com.EmployeePayroll.EmployeePayrollManagement;
 
 import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
 import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
 import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository.DepartmentMember;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository.DesignationTotals;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.EmployeeRepository.SalaryTotals;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionary;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeChangedEvent;
 import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -22,7 +32,21 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReferenceDictionaries referenceDictionaries;
+
+    @Mock
+    private ReferenceDictionary departments;
+
+    @Mock
+    private ReferenceDictionary designations;
+
+    @Mock
+    private ReferenceDictionary employmentTypes;
+
     private EmployeeService employeeService;
 
     private Employee employee1;
@@ -30,17 +54,25 @@ public class EmployeeServiceTest {
 
     @BeforeEach
     void setUp() {
-        employee1 = new Employee(1L, "Alice", 2300.45, "IT", "JuniorEngineer", "Full-Time", LocalDate.of(2023, 1, 1));
-        employee2 = new Employee(2L, "Clary", 2100.45, "HR", "HR", "Part-Time", LocalDate.of(2024, 10, 17));
+        employeeService = new EmployeeService(employeeRepository, eventPublisher, ShardRouter.singleShard(), referenceDictionaries);
+        employee1 = new Employee(1L, "Alice", Money.of("2300.45"), "IT", "JuniorEngineer", "Full-Time", LocalDate.of(2023, 1, 1));
+        employee2 = new Employee(2L, "Clary", Money.of("2100.45"), "HR", "HR", "Part-Time", LocalDate.of(2024, 10, 17));
     }
 
     @Test
     void createEmployeeTest() {
+        stubReferenceDictionaries();
         when(employeeRepository.save(any(Employee.class))).thenReturn(employee1);
         Employee createdEmployee = employeeService.createEmployee(employee1);
         assertNotNull(createdEmployee);
         assertEquals("Alice", createdEmployee.getName());
-        verify(employeeRepository, times(1)).save(employee1);
+        // Names are registered before the save, not from inside its flush
+        InOrder inOrder = inOrder(departments, designations, employmentTypes, employeeRepository);
+        inOrder.verify(departments).idFor("IT");
+        inOrder.verify(designations).idFor("JuniorEngineer");
+        inOrder.verify(employmentTypes).idFor("Full-Time");
+        inOrder.verify(employeeRepository, times(1)).save(employee1);
+        verify(eventPublisher).publishEvent(any(EmployeeChangedEvent.class));
     }
 
     @Test
@@ -63,13 +95,15 @@ public class EmployeeServiceTest {
 
     @Test
     void updateEmployeeTest() {
-        Employee updatedEmployee = new Employee(1L, "Alice(Update)", 2700.88, "IT", "Senior", "Full-Time", LocalDate.of(2023, 1, 1));
+        Employee updatedEmployee = new Employee(1L, "Alice(Update)", Money.of("2700.88"), "IT", "Senior", "Full-Time", LocalDate.of(2023, 1, 1));
+        stubReferenceDictionaries();
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee1));
         when(employeeRepository.save(any(Employee.class))).thenReturn(updatedEmployee);
 
         Optional<Employee> result = employeeService.updateEmployee(1L, updatedEmployee);
         assertTrue(result.isPresent());
         assertEquals("Alice(Update)", result.get().getName());
+        verify(designations).idFor("Senior");
         verify(employeeRepository, times(1)).save(any(Employee.class));
     }
 
@@ -79,63 +113,108 @@ public class EmployeeServiceTest {
         doNothing().when(employeeRepository).deleteById(1L);
         employeeService.deleteEmployee(1L);
         verify(employeeRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EmployeeChangedEvent changed
+                && changed.getType() == EmployeeChangedEvent.ChangeType.DELETED && changed.getEmpId() == 1L));
     }
 
     @Test
     void calculateTotalPayrollTest() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1, employee2));
-        double totalPayroll = employeeService.calculateTotalPayroll();
-        assertTrue(totalPayroll > 0);
-        verify(employeeRepository, times(1)).findAll();
+        when(employeeRepository.salaryTotalsByDesignationId()).thenReturn(Arrays.asList(
+                designationTotals(1, 230045, 1), designationTotals(2, 210045, 1)));
+        when(referenceDictionaries.designations()).thenReturn(designations);
+        when(designations.nameOf((short) 1)).thenReturn("JuniorEngineer");
+        when(designations.nameOf((short) 2)).thenReturn("HR");
+        Money totalPayroll = employeeService.calculateTotalPayroll();
+        // (15000.00 + 2300.45) + (20000.00 + 2100.45), exact to the cent
+        assertEquals(Money.of("39400.90"), totalPayroll);
+        verify(employeeRepository, times(1)).salaryTotalsByDesignationId();
+        verify(employeeRepository, never()).findAll();
+    }
+
+    @Test
+    void calculateTotalPayrollTest_NoBaseSalaryDefined() {
+        when(employeeRepository.salaryTotalsByDesignationId()).thenReturn(List.of(designationTotals(3, 100000, 1)));
+        when(referenceDictionaries.designations()).thenReturn(designations);
+        when(designations.nameOf((short) 3)).thenReturn("Intern");
+        Exception exception = assertThrows(EmployeeNotFoundException.class, () -> employeeService.calculateTotalPayroll());
+        assertEquals("Salary base not found for role: Intern", exception.getMessage());
     }
 
     @Test
     void calculateAverageSalaryByDepartmentTest() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1, employee2));
-        double avgSalary = employeeService.calculateAverageSalaryByDepartment("IT");
-        assertTrue(avgSalary > 0);
-        verify(employeeRepository, times(1)).findAll();
+        when(referenceDictionaries.departments()).thenReturn(departments);
+        when(departments.findId("it")).thenReturn(Optional.of((short) 1));
+        when(employeeRepository.salaryTotalsByDepartmentId((short) 1)).thenReturn(salaryTotals(460091, 2));
+        Money avgSalary = employeeService.calculateAverageSalaryByDepartment("it");
+        // 2300.455 rounds half-even to 2300.46
+        assertEquals(Money.of("2300.46"), avgSalary);
+        verify(employeeRepository, times(1)).salaryTotalsByDepartmentId((short) 1);
     }
 
     @Test
     void testCalculateAverageSalaryByDepartment_NoEmployees() {
-        when(employeeRepository.findAll()).thenReturn(Collections.emptyList());
+        when(referenceDictionaries.departments()).thenReturn(departments);
+        when(departments.findId("Marketing")).thenReturn(Optional.of((short) 3));
+        when(employeeRepository.salaryTotalsByDepartmentId((short) 3)).thenReturn(salaryTotals(0, 0));
         Exception exception = assertThrows(EmployeeNotFoundException.class, () -> {
             employeeService.calculateAverageSalaryByDepartment("Marketing");
         });
         assertEquals("No Employee Present in this Department", exception.getMessage());
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).salaryTotalsByDepartmentId((short) 3);
     }
 
     @Test
     void getEmployeesGroupedByDepartmentTest() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1, employee2));
+        when(employeeRepository.findDepartmentMembers()).thenReturn(Arrays.asList(
+                departmentMember(1, "Alice"), departmentMember(2, "Clary"), departmentMember(1, "Bob")));
+        when(referenceDictionaries.departments()).thenReturn(departments);
+        when(departments.nameOf((short) 1)).thenReturn("IT");
+        when(departments.nameOf((short) 2)).thenReturn("HR");
         Map<String, List<String>> result = employeeService.getEmployeesGroupedByDepartment();
         assertEquals(2, result.size());
-        verify(employeeRepository, times(1)).findAll();
+        assertEquals(List.of("Alice", "Bob"), result.get("IT"));
+        verify(employeeRepository, times(1)).findDepartmentMembers();
+        verify(employeeRepository, never()).findAll();
     }
 
     @Test
     void getTopNHighestPaidEmployees() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1, employee2));
+        when(employeeRepository.findTopBySalary(1)).thenReturn(List.of(employee1));
         List<Employee> result = employeeService.getTopNHighestPaidEmployees(1);
         assertEquals(1, result.size());
         assertEquals(employee1, result.get(0));
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).findTopBySalary(1);
+        verify(employeeRepository, never()).findAll();
     }
 
     @Test
     void testCalculatePayrollByJobTitle_Valid() {
         String jobTitle = "SeniorEngineer";
         employee1.setDesignation(jobTitle);
-        employee1.setSalary(5000.0);
+        employee1.setSalary(Money.of("5000.00"));
 
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1));
+        when(referenceDictionaries.designations()).thenReturn(designations);
+        when(designations.findId(jobTitle)).thenReturn(Optional.of((short) 4));
+        when(designations.nameOf((short) 4)).thenReturn(jobTitle);
+        when(employeeRepository.findByDesignationId((short) 4)).thenReturn(Arrays.asList(employee1));
         Map<String, Object> result = employeeService.calculatePayrollByJobTitle(jobTitle);
 
         assertEquals(jobTitle, result.get("Designation/JobTitle"));
         assertEquals(Arrays.asList(employee1), result.get("Employees"));
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).findByDesignationId((short) 4);
+        verify(employeeRepository, never()).findAll();
+    }
+
+    @Test
+    void testCalculatePayrollByJobTitle_OtherCaseDoesNotMatch() {
+        when(referenceDictionaries.designations()).thenReturn(designations);
+        when(designations.findId("manager")).thenReturn(Optional.of((short) 6));
+        when(designations.nameOf((short) 6)).thenReturn("Manager");
+
+        Exception exception = assertThrows(EmployeeNotFoundException.class,
+                () -> employeeService.calculatePayrollByJobTitle("manager"));
+        assertEquals("No employee found with the designation: manager", exception.getMessage());
+        verify(employeeRepository, never()).findByDesignationId(anyShort());
     }
 
     @Test
@@ -157,14 +236,15 @@ public class EmployeeServiceTest {
     @Test
     void testCalculatePayrollByJobTitle_NoEmployeesFound() {
         String jobTitle = "Marketing";
-        when(employeeRepository.findAll()).thenReturn(Collections.emptyList());
+        when(referenceDictionaries.designations()).thenReturn(designations);
+        when(designations.findId(jobTitle)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EmployeeNotFoundException.class, () -> {
             employeeService.calculatePayrollByJobTitle(jobTitle);
         });
 
         assertEquals("No employee found with the designation: Marketing", exception.getMessage());
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, never()).findByDesignationId(anyShort());
     }
 
     @Test
@@ -172,59 +252,117 @@ public class EmployeeServiceTest {
         String jobTitle = "Intern";
         employee1.setDesignation(jobTitle);
 
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1));
+        when(referenceDictionaries.designations()).thenReturn(designations);
+        when(designations.findId(jobTitle)).thenReturn(Optional.of((short) 5));
+        when(designations.nameOf((short) 5)).thenReturn(jobTitle);
+        when(employeeRepository.findByDesignationId((short) 5)).thenReturn(Arrays.asList(employee1));
         Exception exception = assertThrows(EmployeeNotFoundException.class, () -> {
             employeeService.calculatePayrollByJobTitle(jobTitle);
         });
         assertEquals("No base salary defined for job title: Intern", exception.getMessage());
-        verify(employeeRepository, times(1)).findAll();
     }
 
     @Test
     void testFindEmployeesHiredInLastNMonths_Valid() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1, employee2));
+        when(employeeRepository.findHiredAfter(LocalDate.now().minusMonths(10))).thenReturn(List.of(employee2));
         List<Employee> result = employeeService.findEmployeesHiredInLastNMonths(10);
         assertEquals(1, result.size());
         assertEquals(employee2, result.get(0));
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, never()).findAll();
     }
 
     @Test
     void testFindEmployeesHiredInLastNMonths_NoEmployees() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1));
+        when(employeeRepository.findHiredAfter(LocalDate.now().minusMonths(3))).thenReturn(List.of());
         List<Employee> result = employeeService.findEmployeesHiredInLastNMonths(3);
         assertEquals(0, result.size());
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).findHiredAfter(any(LocalDate.class));
     }
 
     @Test//returns list of employees
     void getEmployeesByDepartmentTest_Valid(){
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1,employee2));
-        List<String> result=employeeService.getEmployeesByDepartment("IT");
+        when(referenceDictionaries.departments()).thenReturn(departments);
+        when(departments.findId("it")).thenReturn(Optional.of((short) 1));
+        when(employeeRepository.findNamesByDepartmentId((short) 1)).thenReturn(List.of("Alice"));
+        List<String> result=employeeService.getEmployeesByDepartment("it");
         assertEquals(1, result.size());
         assertTrue(result.contains("Alice"));
-        verify(employeeRepository,times(1)).findAll();
+        verify(employeeRepository,times(1)).findNamesByDepartmentId((short) 1);
+        verify(employeeRepository, never()).findAll();
     }
     @Test
     void getEmployeesByDepartmentTest_NotExists() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee1, employee2));
+        when(referenceDictionaries.departments()).thenReturn(departments);
+        when(departments.findId("Marketing")).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(EmployeeNotFoundException.class,
                 () -> employeeService.getEmployeesByDepartment("Marketing"));
         assertEquals("No employee found in the Department: Marketing", ex.getMessage()); // <- updated
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, never()).findNamesByDepartmentId(anyShort());
     }
 
     @Test//when employee list is empty
     void getEmployeesByDepartmentTest_EmptyEmployee() {
-        when(employeeRepository.findAll()).thenReturn(Collections.emptyList());
+        when(referenceDictionaries.departments()).thenReturn(departments);
+        when(departments.findId("IT")).thenReturn(Optional.of((short) 1));
+        when(employeeRepository.findNamesByDepartmentId((short) 1)).thenReturn(Collections.emptyList());
 
         Exception ex = assertThrows(EmployeeNotFoundException.class,
                 () -> employeeService.getEmployeesByDepartment("IT"));
         assertEquals("No employee found in the Department: IT", ex.getMessage());
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).findNamesByDepartmentId((short) 1);
+    }
+
+    private void stubReferenceDictionaries() {
+        when(referenceDictionaries.departments()).thenReturn(departments);
+        when(referenceDictionaries.designations()).thenReturn(designations);
+        when(referenceDictionaries.employmentTypes()).thenReturn(employmentTypes);
     }
 
+    private static SalaryTotals salaryTotals(long totalMinor, long headcount) {
+        return new SalaryTotals() {
+            @Override
+            public BigDecimal getTotalMinor() {
+                return BigDecimal.valueOf(totalMinor);
+            }
+
+            @Override
+            public long getHeadcount() {
+                return headcount;
+            }
+        };
+    }
 
+    private static DesignationTotals designationTotals(int designationId, long totalMinor, long headcount) {
+        return new DesignationTotals() {
+            @Override
+            public Number getDesignationId() {
+                return designationId;
+            }
+
+            @Override
+            public BigDecimal getTotalMinor() {
+                return BigDecimal.valueOf(totalMinor);
+            }
+
+            @Override
+            public long getHeadcount() {
+                return headcount;
+            }
+        };
+    }
 
+    private static DepartmentMember departmentMember(int departmentId, String name) {
+        return new DepartmentMember() {
+            @Override
+            public Number getDepartmentId() {
+                return departmentId;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
 }
@@ -0,0 +1,212 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Config.ShardingConfiguration.ShardDataSources;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Drives every {@code EmployeeController} endpoint against a generated dataset of each size in
+ * {@code performance.sizes} and compares p95 latency and bytes allocated per request with the
+ * baseline in {@code performance.baseline}. A measurement more than {@code performance.tolerance.*}
+ * times its baseline fails the run, and so does a measurement with no baseline entry.
+ *
+ * Run with {@code mvn -Pperf-regression test}. Every run writes its measurements to
+ * {@code target/performance-results.properties}; add {@code -Dperformance.updateBaseline=true}
+ * to store them as the new baseline. Baselines are only comparable on the same machine.
+ */
+@Tag("perf-regression")
+@SpringBootTest(properties = {
+        "payroll.sharding.enabled=true",
+        "payroll.sharding.shards[0].url=jdbc:h2:mem:payroll_perf;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[0].username=sa",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.EmployeePayroll=WARN"
+})
+@AutoConfigureMockMvc
+class EndpointPerformanceRegressionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointPerformanceRegressionTest.class);
+    private static final Properties results = new Properties();
+    private static final List<String> regressions = new ArrayList<>();
+    private static Properties baseline;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ReferenceDictionaries referenceDictionaries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    static List<Integer> sizes() {
+        return Arrays.stream(System.getProperty("performance.sizes", "10000,100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    @BeforeAll
+    static void loadBaseline() throws IOException {
+        baseline = new Properties();
+        Path file = baselineFile();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                baseline.load(in);
+            }
+        }
+    }
+
+    @AfterAll
+    static void storeResults() throws IOException {
+        Path target = Path.of("target", "performance-results.properties");
+        Files.createDirectories(target.getParent());
+        try (OutputStream out = Files.newOutputStream(target)) {
+            new TreeMapOrder(results).store(out, "p95 latency (ms) and allocation (bytes) per endpoint and dataset size");
+        }
+        if (Boolean.getBoolean("performance.updateBaseline")) {
+            try (OutputStream out = Files.newOutputStream(baselineFile())) {
+                new TreeMapOrder(results).store(out, "Baseline for EndpointPerformanceRegressionTest, see its javadoc");
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0} employees")
+    @MethodSource("sizes")
+    void endpointsStayWithinTheirBaseline(int size) throws Exception {
+        regressions.clear();
+        PayrollDatasetGenerator generator = new PayrollDatasetGenerator(PayrollDatasetGenerator.DEFAULT_SEED, LocalDate.now());
+        generator.load(shardDataSources.shards(), referenceDictionaries, size);
+        String newEmployee = objectMapper.writeValueAsString(
+                Map.of("name", "Perf Tester", "salary", 5000.00, "department", "IT", "designation", "Tester",
+                        "employmentType", "Full-Time", "hireDate", LocalDate.now().toString()));
+        int samples = Math.max(5, Math.min(50, 2_000_000 / size));
+        Deque<Long> created = new ArrayDeque<>();
+
+        measure(size, samples, "getAllEmployees", i -> get("/api/employees"));
+        measure(size, samples, "getEmployeeById", i -> get("/api/employees/{id}", 1 + (i * 7_919L) % size));
+        measure(size, samples, "createEmployee", i -> post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(newEmployee),
+                result -> created.add(objectMapper.readTree(result.getResponse().getContentAsString()).get("empId").asLong()));
+        measure(size, samples, "updateEmployee", i -> put("/api/employees/{id}", created.toArray()[(int) (i % created.size())])
+                .contentType(MediaType.APPLICATION_JSON).content(newEmployee));
+        measure(size, samples, "deleteEmployee", i -> delete("/api/employees/{id}", created.isEmpty() ? 1L : created.poll()));
+        measure(size, samples, "calculateTotalPayroll", i -> get("/api/employees/payroll"));
+        measure(size, samples, "calculateAverageSalaryByDepartment", i -> get("/api/employees/department/{d}/average-salary", "Finance"));
+        measure(size, samples, "getEmployeesGroupedByDepartment", i -> get("/api/employees/grouped-by-department"));
+        measure(size, samples, "getTopNHighestPaidEmployees", i -> get("/api/employees/top-salaries/{n}", 10));
+        measure(size, samples, "calculatePayrollByDesignation", i -> get("/api/employees/payroll/job-title/{t}", "Manager"));
+        measure(size, samples, "findEmployeesHiredInLastNMonths", i -> get("/api/employees/hired-in-last/{m}", 6));
+        measure(size, samples, "getEmployeesByDepartment", i -> get("/api/employees/filter-by-department/{d}", "Legal"));
+
+        if (!regressions.isEmpty()) {
+            fail("Performance regressions at " + size + " employees:\n  " + String.join("\n  ", regressions));
+        }
+    }
+
+    private void measure(int size, int samples, String endpoint, LongFunction<RequestBuilder> request) throws Exception {
+        measure(size, samples, endpoint, request, result -> {
+        });
+    }
+
+    private void measure(int size, int samples, String endpoint, LongFunction<RequestBuilder> request,
+                         ResultHandler onResult) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int warmup = Math.max(2, samples / 5);
+        long[] nanos = new long[samples];
+        long allocated = 0;
+        for (int i = 0; i < warmup + samples; i++) {
+            RequestBuilder builder = request.apply(i);
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(builder).andReturn();
+            long elapsed = System.nanoTime() - start;
+            long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            int status = result.getResponse().getStatus();
+            assertTrue(status < 300, endpoint + " answered " + status);
+            onResult.handle(result);
+            if (i >= warmup) {
+                nanos[i - warmup] = elapsed;
+                allocated += bytes;
+            }
+        }
+        Arrays.sort(nanos);
+        double p95Millis = nanos[(int) Math.ceil(0.95 * samples) - 1] / 1e6;
+        long bytesPerRequest = allocated / samples;
+        logger.info(String.format(Locale.ROOT, "%-36s %8d employees  p95 %9.2f ms  %,15d bytes/request",
+                endpoint, size, p95Millis, bytesPerRequest));
+
+        String key = endpoint + "." + size;
+        results.setProperty(key + ".p95Millis", String.format(Locale.ROOT, "%.2f", p95Millis));
+        results.setProperty(key + ".bytesPerRequest", Long.toString(bytesPerRequest));
+        check(key + ".p95Millis", p95Millis, Double.parseDouble(System.getProperty("performance.tolerance.latency", "1.5")));
+        check(key + ".bytesPerRequest", bytesPerRequest, Double.parseDouble(System.getProperty("performance.tolerance.allocation", "1.2")));
+    }
+
+    private static void check(String key, double measured, double tolerance) {
+        if (Boolean.getBoolean("performance.updateBaseline")) {
+            return;
+        }
+        String expected = baseline.getProperty(key);
+        if (expected == null) {
+            logger.error("No baseline for {} in {}", key, baselineFile());
+            regressions.add(key + ": no baseline entry, record one with -Dperformance.updateBaseline=true");
+        } else if (measured > Double.parseDouble(expected) * tolerance) {
+            regressions.add(String.format(Locale.ROOT, "%s: %.2f exceeds baseline %s x %.2f", key, measured, expected, tolerance));
+        }
+    }
+
+    private static Path baselineFile() {
+        return Path.of(System.getProperty("performance.baseline", "src/test/resources/performance-baseline.properties"));
+    }
+
+    private interface ResultHandler {
+        void handle(MvcResult result) throws Exception;
+    }
+
+    /** Properties that store their keys in sorted order, so baseline diffs stay readable. */
+    private static final class TreeMapOrder extends Properties {
+        private TreeMapOrder(Properties values) {
+            putAll(values);
+        }
+
+        @Override
+        public Set<Map.Entry<Object, Object>> entrySet() {
+            Set<Map.Entry<Object, Object>> sorted = new TreeSet<>(Comparator.comparing(entry -> entry.getKey().toString()));
+            sorted.addAll(super.entrySet());
+            return Collections.unmodifiableSet(sorted);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @Test
+    void sumsAreExactWhereDoublesDrift() {
+        double doubleTotal = 0.0;
+        long minorUnits = 0;
+        Money cents = Money.of("0.10");
+        for (int i = 0; i < 1_000_000; i++) {
+            doubleTotal += 0.10;
+            minorUnits = Math.addExact(minorUnits, cents.minorUnits());
+        }
+        assertNotEquals(100_000.00, doubleTotal);
+        assertEquals(Money.of("100000.00"), Money.ofMinor(minorUnits));
+    }
+
+    @Test
+    void rejectsSubCentAmountsAndOverflow() {
+        assertEquals(230045, Money.of("2300.45").minorUnits());
+        assertEquals(Money.of("2300.4"), Money.of("2300.40"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("2300.455"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("abc"));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+    }
+
+    @Test
+    void averageRoundsHalfEvenToTheCent() {
+        assertEquals(Money.of("2300.46"), Money.average(460_091, 2));
+        assertEquals(Money.of("0.02"), Money.average(5, 2));
+        assertEquals(Money.of("0.04"), Money.average(7, 2));
+    }
+
+    @Test
+    void jsonKeepsTheDecimalNumberShape() throws Exception {
+        EmployeeDTO dto = new EmployeeDTO(1L, "Alice", Money.of("2300.45"), "IT", "Manager", "Full-Time", LocalDate.of(2023, 1, 1));
+        String json = objectMapper.writeValueAsString(dto);
+        assertTrue(json.contains("\"salary\":2300.45"), json);
+
+        EmployeeDTO parsed = objectMapper.readValue("{\"name\":\"Bob\",\"salary\":1999.9}", EmployeeDTO.class);
+        assertEquals(Money.of("1999.90"), parsed.getSalary());
+    }
+}
@@ -0,0 +1,97 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the total-payroll loop (base salary per designation + salary, summed over
+ * every employee) with salaries as {@code double}, as {@link BigDecimal} and as {@link Money}.
+ * The double variant is the representation used before salaries moved to minor units.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=PayrollAggregationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollAggregationBenchmark {
+
+    private static final String[] DESIGNATIONS = {"Manager", "HR", "JuniorEngineer", "SeniorEngineer", "Tester", "Analyst"};
+    private static final long[] BASE_MINOR_UNITS = {3_000_000, 2_000_000, 1_500_000, 3_000_000, 2_500_000, 2_500_000};
+
+    @Param({"100000", "1000000"})
+    public int employees;
+
+    private Map<String, Double> doubleBase;
+    private Map<String, BigDecimal> decimalBase;
+    private Map<String, Money> moneyBase;
+
+    private List<DoubleRow> doubleRows;
+    private List<DecimalRow> decimalRows;
+    private List<Employee> moneyRows;
+
+    @Setup
+    public void setUp() {
+        doubleBase = new HashMap<>();
+        decimalBase = new HashMap<>();
+        moneyBase = new HashMap<>();
+        for (int i = 0; i < DESIGNATIONS.length; i++) {
+            doubleBase.put(DESIGNATIONS[i], BASE_MINOR_UNITS[i] / 100.0);
+            decimalBase.put(DESIGNATIONS[i], BigDecimal.valueOf(BASE_MINOR_UNITS[i], 2));
+            moneyBase.put(DESIGNATIONS[i], Money.ofMinor(BASE_MINOR_UNITS[i]));
+        }
+
+        Random random = new Random(42);
+        doubleRows = new ArrayList<>(employees);
+        decimalRows = new ArrayList<>(employees);
+        moneyRows = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            String designation = DESIGNATIONS[random.nextInt(DESIGNATIONS.length)];
+            long salaryMinorUnits = 150_000 + random.nextInt(2_000_000);
+            doubleRows.add(new DoubleRow(designation, salaryMinorUnits / 100.0));
+            decimalRows.add(new DecimalRow(designation, BigDecimal.valueOf(salaryMinorUnits, 2)));
+            moneyRows.add(new Employee((long) i, "Employee " + i, Money.ofMinor(salaryMinorUnits), "IT", designation, "Full-Time", null));
+        }
+    }
+
+    @Benchmark
+    public double doubleTotal() {
+        double total = 0.0;
+        for (DoubleRow row : doubleRows) {
+            total += doubleBase.get(row.designation) + row.salary;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (DecimalRow row : decimalRows) {
+            total = total.add(decimalBase.get(row.designation).add(row.salary));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long moneyTotal() {
+        long total = 0;
+        for (Employee employee : moneyRows) {
+            total = Math.addExact(total, Math.addExact(moneyBase.get(employee.getDesignation()).minorUnits(),
+                    employee.getSalary().minorUnits()));
+        }
+        return total;
+    }
+
+    private record DoubleRow(String designation, double salary) {
+    }
+
+    private record DecimalRow(String designation, BigDecimal salary) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardIdentity;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic employees for performance tests.
+ *
+ * Employee {@code n} depends only on the seed, the reference date and {@code n}, so any
+ * prefix of the dataset is reproducible and rows can be generated in any order. The shape
+ * follows a typical company: a few large departments and a long tail, a designation mix per
+ * department limited to the job titles of {@code EmployeeService}'s base salary table,
+ * log-normal salaries around a per-designation median, and hire dates skewed towards recent
+ * years.
+ */
+final class PayrollDatasetGenerator {
+
+    static final long DEFAULT_SEED = 20_240_101L;
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Operations", "Finance", "HR", "Marketing", "Legal", "IT"};
+    private static final double[] DEPARTMENT_WEIGHTS = {0.34, 0.20, 0.14, 0.10, 0.08, 0.07, 0.03, 0.04};
+
+    private static final String[] DESIGNATIONS = {"JuniorEngineer", "SeniorEngineer", "Tester", "Manager", "HR", "Analyst"};
+    // Rows follow DEPARTMENTS, columns follow DESIGNATIONS
+    private static final double[][] DESIGNATION_WEIGHTS = {
+            {0.40, 0.28, 0.20, 0.10, 0.00, 0.02},
+            {0.00, 0.00, 0.00, 0.15, 0.00, 0.85},
+            {0.05, 0.05, 0.25, 0.15, 0.00, 0.50},
+            {0.00, 0.00, 0.00, 0.20, 0.00, 0.80},
+            {0.00, 0.00, 0.00, 0.15, 0.85, 0.00},
+            {0.00, 0.00, 0.00, 0.20, 0.00, 0.80},
+            {0.00, 0.00, 0.00, 0.30, 0.00, 0.70},
+            {0.35, 0.30, 0.20, 0.10, 0.00, 0.05},
+    };
+    // Median monthly salary in minor units, in DESIGNATIONS order
+    private static final long[] MEDIAN_SALARY_MINOR = {450_000, 750_000, 420_000, 900_000, 400_000, 550_000};
+    private static final double SALARY_SIGMA = 0.25;
+
+    private static final String[] EMPLOYMENT_TYPES = {"Full-Time", "Part-Time", "Contract"};
+    private static final double[] EMPLOYMENT_TYPE_WEIGHTS = {0.80, 0.12, 0.08};
+
+    private static final double MEAN_TENURE_DAYS = 3 * 365.0;
+    private static final int MAX_TENURE_DAYS = 25 * 365;
+
+    private static final String[] FIRST_NAMES = {"Alice", "Bilal", "Chen", "Dana", "Elif", "Farah", "Goran", "Hana", "Ivan",
+            "Jun", "Kofi", "Lena", "Mateo", "Nia", "Omar", "Priya", "Quinn", "Rosa", "Sven", "Tariq", "Uma", "Viktor", "Wen", "Yara"};
+    private static final String[] LAST_NAMES = {"Andersen", "Banerjee", "Costa", "Dubois", "Eriksen", "Fischer", "Garcia",
+            "Haddad", "Ito", "Jensen", "Kowalski", "Lopez", "Moreau", "Nakamura", "Okafor", "Petrov", "Rossi", "Silva", "Tanaka", "Weber"};
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final long seed;
+    private final LocalDate referenceDate;
+
+    PayrollDatasetGenerator(long seed, LocalDate referenceDate) {
+        this.seed = seed;
+        this.referenceDate = referenceDate;
+    }
+
+    Employee employee(long empId) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + empId);
+        int department = pick(random, DEPARTMENT_WEIGHTS);
+        int designation = pick(random, DESIGNATION_WEIGHTS[department]);
+        long salaryMinor = Math.round(MEDIAN_SALARY_MINOR[designation] * Math.exp(SALARY_SIGMA * gaussian(random)));
+        int tenureDays = (int) Math.min(MAX_TENURE_DAYS, -MEAN_TENURE_DAYS * Math.log(1 - random.nextDouble()));
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return new Employee(empId, name, Money.ofMinor(salaryMinor), DEPARTMENTS[department], DESIGNATIONS[designation],
+                EMPLOYMENT_TYPES[pick(random, EMPLOYMENT_TYPE_WEIGHTS)], referenceDate.minusDays(tenureDays));
+    }
+
+    /**
+     * Replaces the employees on the given shards with employees {@code 1..count}, each on the
+     * shard that owns its id, and moves every shard's identity past the loaded ids. Names
+     * are stored as the dictionaries' keys, adding them to the reference tables if needed.
+     */
+    void load(List<DataSource> shards, ReferenceDictionaries dictionaries, int count) {
+        List<JdbcTemplate> templates = shards.stream().map(JdbcTemplate::new).toList();
+        templates.forEach(template -> template.update("DELETE FROM employees"));
+        List<List<Object[]>> batches = new ArrayList<>();
+        shards.forEach(shard -> batches.add(new ArrayList<>(BATCH_SIZE)));
+        for (long id = 1; id <= count; id++) {
+            int shard = ShardRouter.shardForId(id, shards.size());
+            Employee employee = employee(id);
+            batches.get(shard).add(new Object[]{id, employee.getName(), employee.getSalary().minorUnits(),
+                    dictionaries.departments().idFor(employee.getDepartment()),
+                    dictionaries.designations().idFor(employee.getDesignation()),
+                    dictionaries.employmentTypes().idFor(employee.getEmploymentType()), Date.valueOf(employee.getHireDate())});
+            if (batches.get(shard).size() == BATCH_SIZE) {
+                insert(templates.get(shard), batches.get(shard));
+            }
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            insert(templates.get(shard), batches.get(shard));
+        }
+        ShardIdentity.interleave(shards, shards.size());
+    }
+
+    static String[] departments() {
+        return DEPARTMENTS.clone();
+    }
+
+    private static void insert(JdbcTemplate template, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            template.batchUpdate("INSERT INTO employees "
+                    + "(emp_id, name, salary_minor, department_id, designation_id, employment_type_id, hire_date) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+
+    private static int pick(SplittableRandom random, double[] weights) {
+        double target = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < weights.length; i++) {
+            cumulative += weights[i];
+            if (target < cumulative) {
+                return i;
+            }
+        }
+        // Rounding of the weights; fall back to the last non-zero choice
+        for (int i = weights.length - 1; i > 0; i--) {
+            if (weights[i] > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    // Box-Muller, so the sequence only depends on SplittableRandom
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,50 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayrollDatasetGeneratorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2026, 1, 1);
+
+    private final PayrollDatasetGenerator generator = new PayrollDatasetGenerator(PayrollDatasetGenerator.DEFAULT_SEED, REFERENCE_DATE);
+
+    @Test
+    void employeesOnlyDependOnSeedAndId() {
+        PayrollDatasetGenerator same = new PayrollDatasetGenerator(PayrollDatasetGenerator.DEFAULT_SEED, REFERENCE_DATE);
+        PayrollDatasetGenerator other = new PayrollDatasetGenerator(PayrollDatasetGenerator.DEFAULT_SEED + 1, REFERENCE_DATE);
+
+        assertEquals(generator.employee(123_456), same.employee(123_456));
+        assertEquals(generator.employee(7), generator.employee(7));
+        assertNotEquals(generator.employee(7), other.employee(7));
+    }
+
+    @Test
+    void datasetHasTheExpectedShape() {
+        List<Employee> employees = LongStream.rangeClosed(1, 50_000).mapToObj(generator::employee).collect(Collectors.toList());
+        EmployeeService employeeService = new EmployeeService(null, null, ShardRouter.singleShard(), null);
+
+        employees.forEach(employee -> assertTrue(employeeService.findBaseSalary(employee.getDesignation()).isPresent(),
+                employee.getDesignation() + " has no base salary"));
+        employees.forEach(employee -> assertFalse(employee.getHireDate().isAfter(REFERENCE_DATE)));
+        employees.forEach(employee -> assertTrue(employee.getSalary().minorUnits() > 0));
+
+        Map<String, Long> byDepartment = employees.stream().collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+        assertEquals(Set.of(PayrollDatasetGenerator.departments()), byDepartment.keySet());
+        assertEquals(0.34, byDepartment.get("Engineering") / 50_000.0, 0.01);
+        assertEquals(0.03, byDepartment.get("Legal") / 50_000.0, 0.005);
+
+        long hiredInLastYear = employees.stream().filter(employee -> employee.getHireDate().isAfter(REFERENCE_DATE.minusYears(1))).count();
+        long hiredTenYearsAgo = employees.stream().filter(employee -> employee.getHireDate().getYear() == REFERENCE_DATE.getYear() - 10).count();
+        assertTrue(hiredInLastYear > 5 * hiredTenYearsAgo, "hire dates should be skewed towards recent years");
+    }
+}
@@ -0,0 +1,138 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures what the reference tables (V5) save: the same generated employees are loaded into
+ * the free-text schema of V4, measured, migrated to V5 in place and measured again. Sizes come
+ * from H2's storage accounting, so they show the trend rather than MySQL's exact page usage;
+ * see the README for the equivalent information_schema query.
+ */
+class ReferenceTableFootprintTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceTableFootprintTest.class);
+
+    private static final int EMPLOYEES = 500_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String TEXT_GROUP_BY = "SELECT department_title, COUNT(*), SUM(salary_minor) FROM employees "
+            + "GROUP BY department_title";
+    private static final String KEYED_GROUP_BY = "SELECT d.name, g.headcount, g.total FROM (SELECT department_id, "
+            + "COUNT(*) AS headcount, SUM(salary_minor) AS total FROM employees GROUP BY department_id) g "
+            + "LEFT JOIN departments d ON d.id = g.department_id";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag("performance")
+    void referenceKeysShrinkRowsAndIndexes() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:file:" + directory.resolve("footprint") + ";MODE=MySQL", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        migrate(dataSource, "4");
+        load(jdbcTemplate);
+
+        long textTable = spaceUsed(jdbcTemplate);
+        long textIndex = indexSize(jdbcTemplate, "department_title, designation, emp_id");
+        Map<String, Long> textGroups = groups(jdbcTemplate, TEXT_GROUP_BY);
+        long textGroupBy = medianMicros(jdbcTemplate, TEXT_GROUP_BY);
+
+        long migrationStart = System.nanoTime();
+        migrate(dataSource, "5");
+        long migrationMillis = (System.nanoTime() - migrationStart) / 1_000_000;
+
+        long keyedTable = spaceUsed(jdbcTemplate);
+        long keyedIndex = indexSize(jdbcTemplate, "department_id, designation_id, emp_id");
+        Map<String, Long> keyedGroups = groups(jdbcTemplate, KEYED_GROUP_BY);
+        long keyedGroupBy = medianMicros(jdbcTemplate, KEYED_GROUP_BY);
+
+        logger.info("{} employees, V5 migration {} ms", EMPLOYEES, migrationMillis);
+        logger.info("bytes per row incl. indexes: text {}, keyed {}", textTable / EMPLOYEES, keyedTable / EMPLOYEES);
+        logger.info("department/designation index: text {} KiB, keyed {} KiB", textIndex / 1024, keyedIndex / 1024);
+        logger.info("group by department: text {} us, keyed {} us", textGroupBy, keyedGroupBy);
+
+        assertEquals(textGroups, keyedGroups);
+        assertTrue(keyedTable < textTable, "keyed rows are not smaller");
+        assertTrue(keyedIndex < textIndex, "keyed index is not smaller");
+    }
+
+    private static void migrate(DriverManagerDataSource dataSource, String target) {
+        var configuration = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+
+    private static void load(JdbcTemplate jdbcTemplate) {
+        PayrollDatasetGenerator generator = new PayrollDatasetGenerator(PayrollDatasetGenerator.DEFAULT_SEED, LocalDate.of(2026, 1, 1));
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            Employee employee = generator.employee(id);
+            batch.add(new Object[]{id, employee.getName(), employee.getSalary().minorUnits(), employee.getDepartment(),
+                    employee.getDesignation(), employee.getEmploymentType(), Date.valueOf(employee.getHireDate())});
+            if (batch.size() == BATCH_SIZE || id == EMPLOYEES) {
+                jdbcTemplate.batchUpdate("INSERT INTO employees "
+                        + "(emp_id, name, salary_minor, department_title, designation, employment_type, hire_date) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static long spaceUsed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CHECKPOINT");
+        return jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED('employees')", Long.class);
+    }
+
+    // H2 only reports space per table, so the index is measured as the growth from building a copy of it
+    private static long indexSize(JdbcTemplate jdbcTemplate, String columns) {
+        long before = spaceUsed(jdbcTemplate);
+        jdbcTemplate.execute("CREATE INDEX idx_footprint_probe ON employees (" + columns + ")");
+        long after = spaceUsed(jdbcTemplate);
+        jdbcTemplate.execute("DROP INDEX idx_footprint_probe");
+        return after - before;
+    }
+
+    private static Map<String, Long> groups(JdbcTemplate jdbcTemplate, String sql) {
+        Map<String, Long> groups = new TreeMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            groups.put(rs.getString(1), rs.getLong(2));
+        });
+        return groups;
+    }
+
+    private static long medianMicros(JdbcTemplate jdbcTemplate, String sql) {
+        for (int warmup = 0; warmup < 5; warmup++) {
+            groups(jdbcTemplate, sql);
+        }
+        long[] samples = new long[21];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            groups(jdbcTemplate, sql);
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
@@ -0,0 +1,194 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Config.ShardingConfiguration.ShardDataSources;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.EmployeeQuery;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.ReportJob;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.JobNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.ReportService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.ReportType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs reports against two embedded H2 shards and pages through the spooled results.
+ */
+@SpringBootTest(properties = {
+        "payroll.sharding.enabled=true",
+        "payroll.sharding.shards[0].url=jdbc:h2:mem:payroll_report0;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[0].username=sa",
+        "payroll.sharding.shards[1].url=jdbc:h2:mem:payroll_report1;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[1].username=sa",
+        "payroll.reports.max-concurrent=1",
+        "payroll.reports.ttl=10m",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.open-in-view=false"
+})
+@AutoConfigureMockMvc
+class ReportServiceTest {
+
+    private static final String[] DESIGNATIONS = {"Manager", "HR", "Tester"};
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Sales"};
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void clearShards() {
+        shardDataSources.shards().forEach(shard -> new JdbcTemplate(shard).update("DELETE FROM employees"));
+    }
+
+    @Test
+    void payrollByJobTitleSpoolsOneRowPerEmployeeAndTotalsThePay() throws Exception {
+        List<Employee> created = createEmployees(45);
+
+        ReportJob job = await(reportService.submit(ReportType.PAYROLL_BY_JOB_TITLE, new EmployeeQuery(), "Manager"));
+
+        List<Employee> managers = created.stream().filter(e -> e.getDesignation().equals("Manager")).collect(Collectors.toList());
+        assertEquals(ReportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(managers.size(), job.getRows());
+        long expectedTotal = managers.stream().mapToLong(e -> 3_000_000L + e.getSalary().minorUnits()).sum();
+        assertEquals(Money.ofMinor(expectedTotal), job.getSummary().get("totalPayroll"));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (long offset = 0; offset < job.getRows(); offset += 4) {
+            rows.addAll(page(job.getId(), offset, 4));
+        }
+        assertEquals(managers.stream().map(Employee::getEmpId).sorted().collect(Collectors.toList()),
+                rows.stream().map(row -> ((Number) row.get("empId")).longValue()).collect(Collectors.toList()));
+        assertEquals(30_000.0 + managers.get(0).getSalary().doubleValue(), ((Number) rows.get(0).get("pay")).doubleValue(), 1e-9);
+    }
+
+    @Test
+    void departmentGroupingMatchesTheInMemoryGrouping() throws Exception {
+        createEmployees(30);
+
+        ReportJob job = await(reportService.submit(ReportType.DEPARTMENT_GROUPING, new EmployeeQuery(), null));
+
+        Map<String, List<String>> expected = employeeService.getEmployeesGroupedByDepartment();
+        List<Map<String, Object>> rows = page(job.getId(), 0, 100);
+        assertEquals(expected.size(), rows.size());
+        for (Map<String, Object> row : rows) {
+            assertEquals(new HashSet<>(expected.get((String) row.get("department"))), new HashSet<>((List<?>) row.get("employees")));
+        }
+    }
+
+    @Test
+    void cancelledAndExpiredReportsAreRemoved() throws Exception {
+        createEmployees(10);
+        ReportJob finished = await(reportService.submit(ReportType.EMPLOYEES, new EmployeeQuery(), null));
+
+        reportService.purgeExpired(LocalDateTime.now());
+        assertEquals(ReportJob.Status.COMPLETED, reportService.getJob(finished.getId()).getStatus());
+        reportService.purgeExpired(finished.getExpiresAt().plusSeconds(1));
+        assertThrows(JobNotFoundException.class, () -> reportService.getJob(finished.getId()));
+
+        ReportJob deleted = await(reportService.submit(ReportType.EMPLOYEES, new EmployeeQuery(), null));
+        reportService.cancel(deleted.getId());
+        assertThrows(JobNotFoundException.class, () -> reportService.getJob(deleted.getId()));
+    }
+
+    @Test
+    void invalidReportsAreRejectedUpFront() {
+        assertThrows(IllegalArgumentException.class, () -> ReportType.fromPath("everything"));
+        assertThrows(IllegalArgumentException.class, () -> reportService.submit(ReportType.PAYROLL_BY_JOB_TITLE, new EmployeeQuery(), null));
+        assertThrows(IllegalArgumentException.class, () -> reportService.submit(ReportType.PAYROLL_BY_JOB_TITLE, new EmployeeQuery(), "Astronaut"));
+    }
+
+    @Test
+    void rowsCanBeFetchedWithARangeHeader() throws Exception {
+        createEmployees(25);
+
+        MvcResult submitted = mockMvc.perform(post("/api/reports/employees").param("fields", "empId,name"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String id = objectMapper.readTree(submitted.getResponse().getContentAsString()).get("id").asText();
+        await(reportService.getJob(id));
+
+        MvcResult paged = mockMvc.perform(get("/api/reports/{id}/rows", id).param("offset", "10").param("limit", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(paged))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "rows"))
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].name").exists());
+
+        MvcResult range = mockMvc.perform(get("/api/reports/{id}/rows", id).header("Range", "rows=20-29"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(range))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "rows 20-24/25"))
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].salary").doesNotExist());
+
+        mockMvc.perform(get("/api/reports/{id}/rows", id).header("Range", "rows=25-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "rows */25"));
+        mockMvc.perform(delete("/api/reports/{id}", id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/reports/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<Map<String, Object>> page(String id, long offset, int limit) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.writePage(id, offset, limit, out);
+        return objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+        });
+    }
+
+    private ReportJob await(ReportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (job.getStatus() == ReportJob.Status.QUEUED || job.getStatus() == ReportJob.Status.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "Report " + job.getId() + " did not finish");
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    private List<Employee> createEmployees(int count) {
+        List<Employee> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee(null, "Employee " + i, Money.ofMinor(100_000 + (i * 37 % 101) * 1_000L),
+                    DEPARTMENTS[i % DEPARTMENTS.length], DESIGNATIONS[i % DESIGNATIONS.length], "Full-Time",
+                    LocalDate.of(2024, 1, 1).plusDays(i));
+            created.add(employeeService.createEmployee(employee));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,185 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryPercentilesDTO;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Mapper.EmployeeMapper;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeChangedEvent;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeChangedEvent.ChangeType;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.SalaryDistributionIndex;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.SalarySketch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SalaryDistributionIndexTest {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private EmployeeService employeeService;
+    private SalaryDistributionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = mock(EmployeeService.class);
+        index = new SalaryDistributionIndex(employeeService);
+    }
+
+    @Test
+    void sketchQuantilesStayWithinTheRelativeErrorBound() {
+        Random random = new Random(42);
+        SalarySketch sketch = new SalarySketch();
+        double[] salaries = new double[100_000];
+        for (int i = 0; i < salaries.length; i++) {
+            // Log-normal, roughly 5k to 500k
+            salaries[i] = Math.exp(10.5 + random.nextGaussian());
+            sketch.add(salaries[i]);
+        }
+        Arrays.sort(salaries);
+
+        for (double q : new double[]{0, 0.01, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1}) {
+            double exact = salaries[(int) (q * (salaries.length - 1))];
+            assertEquals(exact, sketch.quantile(q), exact * SalarySketch.RELATIVE_ACCURACY, "q=" + q);
+        }
+    }
+
+    @Test
+    void removedSalariesNoLongerCountAndMergingMatchesOneSketch() {
+        SalarySketch low = new SalarySketch();
+        SalarySketch high = new SalarySketch();
+        SalarySketch all = new SalarySketch();
+        for (int salary = 1000; salary <= 100_000; salary += 1000) {
+            (salary <= 50_000 ? low : high).add(salary);
+            all.add(salary);
+        }
+        low.merge(high);
+        assertEquals(all.count(), low.count());
+        assertEquals(all.quantile(0.5), low.quantile(0.5));
+        assertEquals(all.quantile(0.99), low.quantile(0.99));
+
+        assertTrue(all.remove(100_000));
+        assertFalse(all.remove(123_456));
+        assertEquals(99_000, all.max(), 99_000 * SalarySketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    void percentilesArePerDepartmentAndDesignation() {
+        index.rebuild(Arrays.asList(
+                employee(1L, 2000, "IT", "JuniorEngineer"),
+                employee(2L, 4000, "IT", "SeniorEngineer"),
+                employee(3L, 6000, "IT", "SeniorEngineer"),
+                employee(4L, 9000, "HR", "Manager")));
+
+        SalaryPercentilesDTO seniors = index.percentiles("IT", "SeniorEngineer", QUANTILES);
+        assertEquals(2, seniors.getCount());
+        assertEquals(4000, seniors.getPercentiles().get("p50"), 40);
+        assertEquals(6000, seniors.getMax(), 60);
+
+        assertEquals(3, index.percentiles("IT", null, QUANTILES).getCount());
+        assertEquals(4, index.percentiles(null, null, QUANTILES).getCount());
+        assertEquals(List.of("p50", "p90", "p99"), new ArrayList<>(seniors.getPercentiles().keySet()));
+        assertThrows(EmployeeNotFoundException.class, () -> index.percentiles("Finance", null, QUANTILES));
+        assertThrows(IllegalArgumentException.class, () -> index.percentiles("IT", null, new double[]{1.5}));
+    }
+
+    @Test
+    void changeEventsUpdateTheSketches() {
+        Employee alice = employee(1L, 2000, "IT", "JuniorEngineer");
+        index.rebuild(List.of(alice));
+
+        Employee promoted = employee(1L, 5000, "IT", "SeniorEngineer");
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, EmployeeMapper.toDTO(alice), EmployeeMapper.toDTO(promoted)));
+        assertThrows(EmployeeNotFoundException.class, () -> index.percentiles("IT", "JuniorEngineer", QUANTILES));
+        assertEquals(5000, index.percentiles("IT", "SeniorEngineer", QUANTILES).getMax(), 50);
+
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L, EmployeeMapper.toDTO(promoted), null));
+        assertThrows(EmployeeNotFoundException.class, () -> index.percentiles(null, null, QUANTILES));
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void unknownRemovalTriggersARebuild() {
+        Employee bob = employee(2L, 3000, "HR", "HR");
+        when(employeeService.getAllEmployees()).thenReturn(List.of(bob));
+        index.rebuild(List.of());
+
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 7L, EmployeeMapper.toDTO(employee(7L, 1000, "HR", "HR")), null));
+
+        verify(employeeService, timeout(5000)).getAllEmployees();
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!hasSalaries("HR") && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, index.percentiles("HR", null, QUANTILES).getCount());
+    }
+
+    @Test
+    void changesMadeWhileRebuildingAreNotLost() {
+        Employee alice = employee(1L, 2000, "IT", "JuniorEngineer");
+        Employee bob = employee(2L, 3000, "HR", "HR");
+        Employee promoted = employee(1L, 5000, "IT", "SeniorEngineer");
+        Employee carol = employee(3L, 4000, "HR", "HR");
+        index.rebuild(List.of(alice, bob));
+        when(employeeService.getAllEmployees()).thenAnswer(invocation -> {
+            // Alice's update commits after the read, Carol's insert before it
+            index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, EmployeeMapper.toDTO(alice), EmployeeMapper.toDTO(promoted)));
+            index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 3L, null, EmployeeMapper.toDTO(carol)));
+            return List.of(alice, bob, carol);
+        });
+
+        index.rebuildFromDatabase();
+
+        assertThrows(EmployeeNotFoundException.class, () -> index.percentiles("IT", "JuniorEngineer", QUANTILES));
+        assertEquals(1, index.percentiles("IT", "SeniorEngineer", QUANTILES).getCount());
+        assertEquals(2, index.percentiles("HR", null, QUANTILES).getCount());
+    }
+
+    @Test
+    @Tag("performance")
+    void percentileQueriesAnswerInMicroseconds() {
+        String[] departments = new String[20];
+        for (int d = 0; d < departments.length; d++) {
+            departments[d] = "Dept" + d;
+        }
+        String[] designations = {"Manager", "HR", "JuniorEngineer", "SeniorEngineer", "Tester", "Analyst"};
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>(1_000_000);
+        for (long id = 1; id <= 1_000_000; id++) {
+            employees.add(employee(id, Math.exp(10.5 + random.nextGaussian()),
+                    departments[random.nextInt(departments.length)], designations[random.nextInt(designations.length)]));
+        }
+        index.rebuild(employees);
+
+        long[] nanos = new long[20_000];
+        for (int i = 0; i < nanos.length; i++) {
+            String department = departments[i % departments.length];
+            String designation = i % 2 == 0 ? designations[i % designations.length] : null;
+            long start = System.nanoTime();
+            index.percentiles(department, designation, QUANTILES);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        long median = nanos[nanos.length / 2];
+        assertTrue(median < 100_000, "median query took " + median + " ns");
+    }
+
+    private boolean hasSalaries(String department) {
+        try {
+            return index.percentiles(department, null, QUANTILES).getCount() > 0;
+        } catch (EmployeeNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Employee employee(Long id, double salary, String department, String designation) {
+        return new Employee(id, "Employee " + id, Money.ofMinor(Math.round(salary * 100)), department, designation, "Full-Time", LocalDate.of(2024, 1, 1));
+    }
+}
@@ -0,0 +1,258 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Config.ShardingConfiguration.ShardDataSources;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryChange;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryRevisionJob;
+import com.EmployeePayroll.EmployeePayrollManagement.DTO.SalaryRevisionRequest;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.JobNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceDictionaries;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.SalaryRevisionCompletedEvent;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.SalaryRevisionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs bulk revisions against two embedded H2 shards with a small chunk size, so every
+ * revision spans several chunks on each shard.
+ */
+@SpringBootTest(properties = {
+        "payroll.sharding.enabled=true",
+        "payroll.sharding.shards[0].url=jdbc:h2:mem:payroll_revision0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[0].username=sa",
+        "payroll.sharding.shards[1].url=jdbc:h2:mem:payroll_revision1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[1].username=sa",
+        "payroll.revision.chunk-size=3",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.open-in-view=false"
+})
+@RecordApplicationEvents
+class SalaryRevisionServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaryRevisionServiceTest.class);
+
+    private static final String[] DESIGNATIONS = {"SeniorEngineer", "JuniorEngineer", "Tester"};
+
+    @Autowired
+    private SalaryRevisionService salaryRevisionService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ReferenceDictionaries referenceDictionaries;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void clearShards() {
+        shardDataSources.shards().forEach(shard -> {
+            new JdbcTemplate(shard).update("DELETE FROM employees");
+            new JdbcTemplate(shard).update("DELETE FROM salary_revision_audit");
+        });
+    }
+
+    @Test
+    void dryRunPreviewsTheChangesWithoutWriting() throws Exception {
+        List<Employee> created = createEmployees(30);
+        Money payrollBefore = employeeService.calculateTotalPayroll();
+
+        SalaryRevisionJob job = await(salaryRevisionService.submit(
+                new SalaryRevisionRequest("IT", "SeniorEngineer", new BigDecimal("6"), null, true)));
+
+        List<Employee> matching = matching(created, "IT", "SeniorEngineer");
+        assertEquals(SalaryRevisionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(matching.size(), job.getMatched());
+        assertEquals(0, job.getUpdated());
+        assertEquals(Money.ofMinor(matching.stream().mapToLong(e -> e.getSalary().minorUnits()).sum()), job.getTotalBefore());
+        assertEquals(Money.ofMinor(matching.stream().mapToLong(e -> raised(e.getSalary().minorUnits())).sum()), job.getTotalAfter());
+        assertEquals(matching.size(), job.getSample().size());
+        assertEquals(payrollBefore, employeeService.calculateTotalPayroll());
+        assertTrue(salaryRevisionService.getAudit(job.getId(), 100).isEmpty());
+        assertEquals(0, events.stream(SalaryRevisionCompletedEvent.class).count());
+    }
+
+    @Test
+    void percentRaiseUpdatesOnlyMatchingEmployeesAndIsAudited() throws Exception {
+        List<Employee> created = createEmployees(60);
+
+        SalaryRevisionJob job = await(salaryRevisionService.submit(
+                new SalaryRevisionRequest("IT", "SeniorEngineer", new BigDecimal("6"), null, false)));
+
+        Set<Long> matchingIds = matching(created, "IT", "SeniorEngineer").stream().map(Employee::getEmpId).collect(Collectors.toSet());
+        assertEquals(SalaryRevisionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(matchingIds.size(), job.getUpdated());
+        assertTrue(job.getChunks() > shardRouter.shardCount());
+        for (Employee employee : created) {
+            long expected = matchingIds.contains(employee.getEmpId())
+                    ? raised(employee.getSalary().minorUnits())
+                    : employee.getSalary().minorUnits();
+            assertEquals(Money.ofMinor(expected), employeeService.getEmployeeById(employee.getEmpId()).orElseThrow().getSalary());
+        }
+
+        List<SalaryChange> audit = salaryRevisionService.getAudit(job.getId(), 100);
+        assertEquals(matchingIds, audit.stream().map(SalaryChange::getEmpId).collect(Collectors.toSet()));
+        for (SalaryChange change : audit) {
+            assertEquals(raised(change.getOldSalary().minorUnits()), change.getNewSalary().minorUnits());
+        }
+    }
+
+    @Test
+    void designationOnlyFilterLocksAndUpdatesJustTheMatchingEmployees() throws Exception {
+        List<Employee> created = createEmployees(60);
+
+        SalaryRevisionJob job = await(salaryRevisionService.submit(
+                new SalaryRevisionRequest(null, "SeniorEngineer", new BigDecimal("6"), null, false)));
+
+        Set<Long> matchingIds = created.stream()
+                .filter(employee -> "SeniorEngineer".equals(employee.getDesignation()))
+                .map(Employee::getEmpId)
+                .collect(Collectors.toSet());
+        assertEquals(SalaryRevisionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(matchingIds.size(), job.getUpdated());
+        for (Employee employee : created) {
+            long expected = matchingIds.contains(employee.getEmpId())
+                    ? raised(employee.getSalary().minorUnits())
+                    : employee.getSalary().minorUnits();
+            assertEquals(Money.ofMinor(expected), employeeService.getEmployeeById(employee.getEmpId()).orElseThrow().getSalary());
+        }
+    }
+
+    @Test
+    void csvAdjustmentsAreAppliedPerEmployeeAndUnknownIdsAreCounted() throws Exception {
+        List<Employee> created = createEmployees(8);
+        Employee first = created.get(0);
+        Employee second = created.get(1);
+        Employee third = created.get(2);
+        String csv = "empId,adjustment\n"
+                + first.getEmpId() + ",10%\n"
+                + second.getEmpId() + ",-120.50\n"
+                + third.getEmpId() + ",4321.00\n"
+                + "999999,+1.00\n";
+
+        SalaryRevisionJob job = await(salaryRevisionService.submitCsv(csv, false));
+
+        assertEquals(SalaryRevisionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getUpdated());
+        assertEquals(1, job.getNotFound());
+        assertEquals(Money.ofMinor(percentOf(first.getSalary().minorUnits(), "1.10")), salaryOf(first));
+        assertEquals(second.getSalary().minus(Money.of("120.50")), salaryOf(second));
+        assertEquals(Money.of("4321.00"), salaryOf(third));
+        assertEquals(created.get(3).getSalary(), salaryOf(created.get(3)));
+    }
+
+    @Test
+    void invalidRequestsAreRejectedUpFront() {
+        assertThrows(IllegalArgumentException.class, () -> salaryRevisionService.submit(
+                new SalaryRevisionRequest("IT", null, new BigDecimal("5"), Money.of("100.00"), false)));
+        assertThrows(IllegalArgumentException.class, () -> salaryRevisionService.submitCsv("1,5%\nx,6%\n", false));
+        assertThrows(IllegalArgumentException.class, () -> salaryRevisionService.submitCsv("1,5%\n1,6%\n", false));
+        assertThrows(JobNotFoundException.class, () -> salaryRevisionService.getJob("missing"));
+    }
+
+    @Test
+    @Tag("performance")
+    void revisesHalfAMillionEmployees() throws Exception {
+        int employees = 500_000;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            List<Object[]> rows = new ArrayList<>();
+            for (long id = shard + 1; id <= employees; id += shardRouter.shardCount()) {
+                rows.add(new Object[]{id, "Employee " + id, 100_000 + id % 5_000 * 100,
+                        referenceDictionaries.departments().idFor(id % 4 == 0 ? "IT" : "HR"),
+                        referenceDictionaries.designations().idFor(DESIGNATIONS[(int) (id % DESIGNATIONS.length)]),
+                        referenceDictionaries.employmentTypes().idFor("Full-Time"), Date.valueOf(LocalDate.of(2024, 1, 1))});
+            }
+            new JdbcTemplate(shardDataSources.shards().get(shard)).batchUpdate("INSERT INTO employees "
+                    + "(emp_id, name, salary_minor, department_id, designation_id, employment_type_id, hire_date) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+        SalaryRevisionService service = new SalaryRevisionService(jdbcTemplate, transactionManager, shardRouter, eventPublisher, 1_000, 8);
+        try {
+            long start = System.nanoTime();
+            SalaryRevisionJob job = await(service.submit(new SalaryRevisionRequest(null, null, new BigDecimal("6"), null, false)));
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            logger.info("Revised {} employees in {} chunks, {} ms", job.getUpdated(), job.getChunks(), millis);
+
+            assertEquals(SalaryRevisionJob.Status.COMPLETED, job.getStatus());
+            assertEquals(employees, job.getUpdated());
+            assertTrue(millis < 120_000, "500k revision took " + millis + " ms");
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private SalaryRevisionJob await(SalaryRevisionJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 300_000;
+        while (job.getStatus() == SalaryRevisionJob.Status.QUEUED || job.getStatus() == SalaryRevisionJob.Status.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "Revision " + job.getId() + " did not finish");
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    private Money salaryOf(Employee employee) {
+        return employeeService.getEmployeeById(employee.getEmpId()).orElseThrow().getSalary();
+    }
+
+    private static long raised(long minorUnits) {
+        return percentOf(minorUnits, "1.06");
+    }
+
+    private static long percentOf(long minorUnits, String factor) {
+        return new BigDecimal(minorUnits).multiply(new BigDecimal(factor)).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
+
+    private static List<Employee> matching(List<Employee> employees, String department, String designation) {
+        return employees.stream()
+                .filter(e -> e.getDepartment().equals(department) && e.getDesignation().equals(designation))
+                .collect(Collectors.toList());
+    }
+
+    private List<Employee> createEmployees(int count) {
+        List<Employee> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee(null, "Employee " + i, Money.ofMinor(100_000 + (i * 37 % 101) * 1_001L), i % 2 == 0 ? "IT" : "HR",
+                    DESIGNATIONS[i % DESIGNATIONS.length], "Full-Time", LocalDate.of(2024, 1, 1).plusDays(i));
+            created.add(employeeService.createEmployee(employee));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,218 @@
+package com.EmployeePayroll.EmployeePayrollManagement;
+
+import com.EmployeePayroll.EmployeePayrollManagement.Config.ShardingConfiguration.ShardDataSources;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Employee;
+import com.EmployeePayroll.EmployeePayrollManagement.Entity.Money;
+import com.EmployeePayroll.EmployeePayrollManagement.Exception.EmployeeNotFoundException;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ReferenceKeys;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRebalancer;
+import com.EmployeePayroll.EmployeePayrollManagement.Repository.ShardRouter;
+import com.EmployeePayroll.EmployeePayrollManagement.Service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the service against three embedded H2 shards, of which two are active at startup.
+ */
+@SpringBootTest(properties = {
+        "payroll.sharding.enabled=true",
+        "payroll.sharding.active-shards=2",
+        "payroll.sharding.rebalance-chunk-size=7",
+        "payroll.sharding.shards[0].url=jdbc:h2:mem:payroll_shard0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[0].username=sa",
+        "payroll.sharding.shards[1].url=jdbc:h2:mem:payroll_shard1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[1].username=sa",
+        "payroll.sharding.shards[2].url=jdbc:h2:mem:payroll_shard2;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "payroll.sharding.shards[2].username=sa",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.open-in-view=false"
+})
+class ShardedEmployeeServiceTest {
+
+    private static final String[] DESIGNATIONS = {"Manager", "HR", "JuniorEngineer", "SeniorEngineer", "Tester", "Analyst"};
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @BeforeEach
+    void clearShards() {
+        shardDataSources.shards().forEach(shard -> new JdbcTemplate(shard).update("DELETE FROM employees"));
+    }
+
+    @Test
+    void employeesAreSpreadOverTheActiveShardsWithUniqueIds() {
+        List<Employee> created = createEmployees(20);
+
+        Set<Long> ids = created.stream().map(Employee::getEmpId).collect(Collectors.toSet());
+        assertEquals(20, ids.size());
+        assertEquals(10, rowsOn(0).size());
+        assertEquals(10, rowsOn(1).size());
+        assertTrue(rowsOn(2).isEmpty());
+        rowsOn(0).forEach(id -> assertEquals(0, shardRouter.shardForId(id)));
+        rowsOn(1).forEach(id -> assertEquals(1, shardRouter.shardForId(id)));
+
+        for (Employee employee : created) {
+            assertEquals(employee.getName(), employeeService.getEmployeeById(employee.getEmpId()).orElseThrow().getName());
+        }
+        assertEquals(20, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    void updatesAndDeletesGoToTheOwningShard() {
+        List<Employee> created = createEmployees(4);
+        Employee target = created.get(1);
+
+        Employee changes = new Employee(null, "Renamed", Money.of("9999.00"), "Finance", "Analyst", "Full-Time", null);
+        employeeService.updateEmployee(target.getEmpId(), changes);
+        assertEquals("Renamed", employeeService.getEmployeeById(target.getEmpId()).orElseThrow().getName());
+
+        employeeService.deleteEmployee(target.getEmpId());
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(target.getEmpId()));
+        assertEquals(3, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    void aggregatesMergeThePartialResultsOfEveryShard() {
+        List<Employee> created = createEmployees(30);
+
+        long expectedPayroll = created.stream().mapToLong(e -> baseSalaryMinor(e.getDesignation()) + e.getSalary().minorUnits()).sum();
+        assertEquals(Money.ofMinor(expectedPayroll), employeeService.calculateTotalPayroll());
+
+        List<Long> expectedTop = created.stream()
+                .sorted(Comparator.comparing(Employee::getSalary, Comparator.reverseOrder()))
+                .limit(5)
+                .map(Employee::getEmpId)
+                .collect(Collectors.toList());
+        assertEquals(expectedTop, employeeService.getTopNHighestPaidEmployees(5).stream().map(Employee::getEmpId).collect(Collectors.toList()));
+
+        List<Employee> it = created.stream().filter(e -> e.getDepartment().equals("IT")).collect(Collectors.toList());
+        Money expectedItAverage = Money.average(it.stream().mapToLong(e -> e.getSalary().minorUnits()).sum(), it.size());
+        assertEquals(expectedItAverage, employeeService.calculateAverageSalaryByDepartment("IT"));
+
+        Map<String, List<String>> grouped = employeeService.getEmployeesGroupedByDepartment();
+        assertEquals(30, grouped.values().stream().mapToInt(List::size).sum());
+
+        // A cutoff that falls inside the generated hire dates
+        int months = (int) ChronoUnit.MONTHS.between(LocalDate.of(2024, 1, 15), LocalDate.now());
+        LocalDate cutoff = LocalDate.now().minusMonths(months);
+        Set<Long> expectedHired = created.stream().filter(e -> e.getHireDate().isAfter(cutoff))
+                .map(Employee::getEmpId).collect(Collectors.toSet());
+        assertFalse(expectedHired.isEmpty());
+        assertEquals(expectedHired, employeeService.findEmployeesHiredInLastNMonths(months).stream()
+                .map(Employee::getEmpId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DirtiesContext
+    void rebalanceMovesEveryEmployeeToItsNewShard() throws Exception {
+        List<Employee> created = createEmployees(50);
+        Money payrollBefore = employeeService.calculateTotalPayroll();
+
+        long moved = shardRebalancer.start(3).get(30, TimeUnit.SECONDS);
+
+        assertTrue(moved > 0);
+        assertFalse(shardRouter.isRebalancing());
+        assertEquals(3, shardRouter.shardCount());
+        for (int shard = 0; shard < 3; shard++) {
+            for (long id : rowsOn(shard)) {
+                assertEquals(shard, ShardRouter.shardForId(id, 3));
+            }
+        }
+        assertEquals(50, rowsOn(0).size() + rowsOn(1).size() + rowsOn(2).size());
+        assertEquals(payrollBefore, employeeService.calculateTotalPayroll());
+        for (Employee employee : created) {
+            assertEquals(employee.getName(), employeeService.getEmployeeById(employee.getEmpId()).orElseThrow().getName());
+        }
+
+        // New rows follow the new layout and never reuse an existing id
+        Set<Long> existingIds = created.stream().map(Employee::getEmpId).collect(Collectors.toSet());
+        for (Employee employee : createEmployees(6)) {
+            assertFalse(existingIds.contains(employee.getEmpId()));
+            assertTrue(rowsOn(shardRouter.shardForId(employee.getEmpId())).contains(employee.getEmpId()));
+        }
+    }
+
+    @Test
+    void newReferenceNamesGetTheSameKeyOnEveryShard() {
+        createEmployees(6);
+
+        Map<Short, String> departments = referenceRows(0, "departments");
+        assertTrue(departments.containsValue("IT"));
+        assertTrue(departments.containsValue("HR"));
+        for (int shard = 1; shard < shardDataSources.shards().size(); shard++) {
+            assertEquals(departments, referenceRows(shard, "departments"));
+            assertEquals(referenceRows(0, "designations"), referenceRows(shard, "designations"));
+        }
+    }
+
+    @Test
+    void referenceKeysNumberedPerShardAreReconciled() {
+        // As if the shards had numbered new names independently during a migration
+        JdbcTemplate shard0 = new JdbcTemplate(shardDataSources.shards().get(0));
+        JdbcTemplate shard1 = new JdbcTemplate(shardDataSources.shards().get(1));
+        shard0.update("INSERT INTO departments (id, name) VALUES (100, 'Omega')");
+        shard1.update("INSERT INTO departments (id, name) VALUES (100, 'Zeta')");
+        shard1.update("INSERT INTO employees (emp_id, name, salary_minor, department_id) VALUES (2, 'Zoe', 100000, 100)");
+
+        ReferenceKeys.reconcile(shardDataSources.shards());
+
+        for (int shard = 0; shard < shardDataSources.shards().size(); shard++) {
+            Map<Short, String> departments = referenceRows(shard, "departments");
+            assertEquals("Omega", departments.get((short) 100));
+            assertEquals("Zeta", departments.get((short) 101));
+        }
+        assertEquals(101, shard1.queryForObject("SELECT department_id FROM employees WHERE emp_id = 2", Integer.class));
+    }
+
+    private List<Employee> createEmployees(int count) {
+        List<Employee> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee(null, "Employee " + i, Money.ofMinor(100_000 + (i * 37 % 101) * 1_000L), i % 3 == 0 ? "IT" : "HR",
+                    DESIGNATIONS[i % DESIGNATIONS.length], "Full-Time", LocalDate.of(2024, 1, 1).plusDays(i));
+            created.add(employeeService.createEmployee(employee));
+        }
+        return created;
+    }
+
+    private Map<Short, String> referenceRows(int shard, String table) {
+        Map<Short, String> rows = new TreeMap<>();
+        new JdbcTemplate(shardDataSources.shards().get(shard)).query("SELECT id, name FROM " + table, rs -> {
+            rows.put(rs.getShort(1), rs.getString(2));
+        });
+        return rows;
+    }
+
+    private List<Long> rowsOn(int shard) {
+        return new JdbcTemplate(shardDataSources.shards().get(shard)).queryForList("SELECT emp_id FROM employees", Long.class);
+    }
+
+    private static long baseSalaryMinor(String designation) {
+        return switch (designation) {
+            case "Manager", "SeniorEngineer" -> 3_000_000L;
+            case "HR" -> 2_000_000L;
+            case "JuniorEngineer" -> 1_500_000L;
+            default -> 2_500_000L;
+        };
+    }
+}